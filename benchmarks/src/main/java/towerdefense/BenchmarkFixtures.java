@@ -0,0 +1,97 @@
+package towerdefense;
+
+import java.util.Random;
+
+/**
+ * Shared fixtures for the benchmarks: enemies that never move or die, so
+ * a benchmark keeps the same population for its whole measurement, and
+ * helpers that scatter enemies along the path and towers around it.
+ */
+final class BenchmarkFixtures {
+    static final double IMMORTAL_SHIELD = 1e15;
+    
+    private BenchmarkFixtures() {
+    }
+    
+    /**
+     * Enemy with velocity 0 and practically unlimited shield: towers keep
+     * targeting and damaging it, but it never walks into the base or dies.
+     */
+    static final class FrozenEnemy extends Enemy {
+        FrozenEnemy(int armorRating, boolean flying) {
+            super(IMMORTAL_SHIELD, 0.0, armorRating, flying, 10, 10);
+        }
+        
+        @Override
+        public String getEnemyType() {
+            return isFlying() ? "BenchUcan" : "BenchYaya";
+        }
+    }
+    
+    /**
+     * Mix of ground, armored and flying enemies (roughly 50/25/25).
+     */
+    static Enemy randomEnemy(Random random) {
+        int type = random.nextInt(4);
+        if (type == 0) {
+            return new FrozenEnemy(50 + random.nextInt(41), false);
+        } else if (type == 1) {
+            return new FrozenEnemy(0, true);
+        }
+        return new FrozenEnemy(0, false);
+    }
+    
+    /**
+     * Random path position strictly before the base.
+     */
+    static double randomPathIndex(Path path, Random random) {
+        return random.nextDouble() * (path.getLength() - 1) * 0.95;
+    }
+    
+    /**
+     * Engine with no logging or snapshot publishing, a running game and
+     * enough gold to place any number of towers.
+     */
+    static GameEngine newEngine(boolean enemyStore) {
+        GameEngine engine = new GameEngine(false);
+        engine.setSnapshotPublishing(false);
+        engine.setEnemyStoreEnabled(enemyStore);
+        engine.setSeed(42);
+        engine.initializeGame();
+        engine.setEnergyCore(Integer.MAX_VALUE);
+        return engine;
+    }
+    
+    static void spawnEnemies(GameEngine engine, int count, Random random) {
+        Path path = engine.getPath();
+        for (int i = 0; i < count; i++) {
+            engine.spawnEnemy(randomEnemy(random), randomPathIndex(path, random));
+        }
+    }
+    
+    /**
+     * Towers of all three kinds near random points of the path, so most
+     * of them have enemies in range.
+     */
+    static void placeTowers(GameEngine engine, int count, Random random) {
+        Path path = engine.getPath();
+        for (int i = 0; i < count; i++) {
+            double pathIndex = randomPathIndex(path, random);
+            double x = path.getX(pathIndex) + (random.nextDouble() - 0.5) * 160.0;
+            double y = path.getY(pathIndex) + (random.nextDouble() - 0.5) * 160.0;
+            engine.setEnergyCore(Integer.MAX_VALUE);
+            engine.placeTower(createTower(i % 3, x, y));
+        }
+    }
+    
+    static Tower createTower(int kind, double x, double y) {
+        switch (kind) {
+            case FrameSnapshot.CANNON:
+                return new CannonTower(x, y);
+            case FrameSnapshot.ICE:
+                return new IceTower(x, y);
+            default:
+                return new ArcherTower(x, y);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package towerdefense;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enemy.takeDamage with the armor formula, for unarmored and armored
+ * enemies. The enemy's shield is large enough to never run out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnemyBenchmark {
+    @Param({"0", "50", "90"})
+    public int armor;
+    
+    private Enemy enemy;
+    private double damage = 20.0;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        enemy = new BenchmarkFixtures.FrozenEnemy(armor, false);
+    }
+    
+    @Benchmark
+    public boolean takeDamage() {
+        return enemy.takeDamage(damage);
+    }
+}
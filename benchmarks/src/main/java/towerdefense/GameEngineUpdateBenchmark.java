@@ -0,0 +1,61 @@
+package towerdefense;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One full GameEngine.update tick (movement, grid rebuild, tower fire,
+ * dead-enemy removal, state checks) on a steady field of frozen enemies.
+ * Snapshot publishing and logging are off, as in headless runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineUpdateBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int enemies;
+    
+    @Param({"10", "100", "1000", "10000"})
+    public int towers;
+    
+    @Param({"false", "true"})
+    public boolean enemyStore;
+    
+    private GameEngine engine;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        engine = BenchmarkFixtures.newEngine(enemyStore);
+        BenchmarkFixtures.placeTowers(engine, towers, random);
+        BenchmarkFixtures.spawnEnemies(engine, enemies, random);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+    
+    @Benchmark
+    public long update() {
+        engine.update(GameEngine.DELTA_TIME);
+        return engine.getTickCount();
+    }
+}
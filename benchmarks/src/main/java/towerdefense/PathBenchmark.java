@@ -0,0 +1,71 @@
+package towerdefense;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Path position lookups: the arc-length table (getX/getY and the
+ * allocating getPosition) against evaluating the Catmull-Rom spline
+ * directly, for random positions along the whole path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathBenchmark {
+    private static final int SAMPLES = 1024; // power of two, see next()
+    
+    private Path path;
+    private double[] pathIndices;
+    private double[] splineParams;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        path = new Path();
+        pathIndices = new double[SAMPLES];
+        splineParams = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            pathIndices[i] = random.nextDouble() * (path.getLength() - 1);
+            splineParams[i] = random.nextDouble() * (path.getWaypoints().size() - 1);
+        }
+    }
+    
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+    
+    @Benchmark
+    public void getXY(Blackhole bh) {
+        double pathIndex = pathIndices[next()];
+        bh.consume(path.getX(pathIndex));
+        bh.consume(path.getY(pathIndex));
+    }
+    
+    @Benchmark
+    public Path.Point getPosition() {
+        return path.getPosition(pathIndices[next()]);
+    }
+    
+    @Benchmark
+    public Path.Point catmullRom() {
+        return path.splinePosition(splineParams[next()]);
+    }
+}
@@ -0,0 +1,70 @@
+package towerdefense;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GameEngine.removeDeadEnemies (list version) with a given share of the
+ * field dead. Each invocation first refills the field and kills random
+ * enemies in an untimed setup, so the population stays constant;
+ * invocation-level setup is only accurate because one call scans at
+ * least a hundred enemies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RemoveDeadEnemiesBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int enemies;
+    
+    @Param({"1", "10", "50"})
+    public int deadPercent;
+    
+    private GameEngine engine;
+    private Random random;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        random = new Random(42);
+        engine = BenchmarkFixtures.newEngine(false);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        BenchmarkFixtures.spawnEnemies(engine, enemies - engine.getEnemyCount(), random);
+        List<Enemy> field = engine.getEnemies();
+        int dead = enemies * deadPercent / 100;
+        for (int i = 0; i < dead; i++) {
+            field.get(random.nextInt(field.size())).setAlive(false);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+    
+    @Benchmark
+    public int removeDeadEnemies() {
+        engine.removeDeadEnemies();
+        return engine.getEnemyCount();
+    }
+}
@@ -0,0 +1,67 @@
+package towerdefense;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EnemyStore.splashGround on the scalar BatchKernels against the best
+ * kernels of the JVM ("best" is the vector kernels when the benchmarks are
+ * built with -Pvector, otherwise scalar again; the fork asks for them with
+ * -Dtd.vectorKernels=true). Enemies are immortal and
+ * spread over a square around the blast, so every call tests and damages
+ * the same mix: with a 150 px square about a third of them are hit, with
+ * 600 px (a wave strung along the path) about one in fifty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dtd.vectorKernels=true"})
+@State(Scope.Thread)
+public class SplashKernelBenchmark {
+    private static final double BLAST_X = 400.0;
+    private static final double BLAST_Y = 300.0;
+    
+    @Param({"scalar", "best"})
+    public String kernels;
+    
+    @Param({"100", "1000", "10000"})
+    public int enemies;
+    
+    @Param({"150", "600"})
+    public double spread;
+    
+    private EnemyStore store;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        store = new EnemyStore(enemies);
+        store.setKernels(kernels.equals("scalar") ? new BatchKernels() : BatchKernels.get());
+        for (int i = 0; i < enemies; i++) {
+            Enemy enemy = BenchmarkFixtures.randomEnemy(random);
+            enemy.setPosition(BLAST_X + (random.nextDouble() - 0.5) * spread,
+                              BLAST_Y + (random.nextDouble() - 0.5) * spread);
+            store.add(enemy);
+        }
+    }
+    
+    @Benchmark
+    public int splash() {
+        store.clearHits();
+        return store.splashGround(BLAST_X, BLAST_Y, 50.0, -1, 45.0, 200.0);
+    }
+}
@@ -0,0 +1,86 @@
+package towerdefense;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A single tower's fire() kernel: targeting, damage and (cannon) splash
+ * against enemies clustered around the tower. Time advances past the
+ * cooldown on every call, so every call really fires. Covers both the
+ * List/SpatialGrid version and the EnemyStore version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TowerFireBenchmark {
+    private static final double TOWER_X = 400.0;
+    private static final double TOWER_Y = 300.0;
+    
+    @Param({"archer", "cannon", "ice"})
+    public String tower;
+    
+    @Param({"10", "100", "1000"})
+    public int enemies;
+    
+    private Tower listTower;
+    private Tower storeTower;
+    private List<Enemy> enemyList;
+    private final List<Enemy> hits = new ArrayList<>();
+    private EnemyStore store;
+    private double time;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        enemyList = new ArrayList<>();
+        store = new EnemyStore();
+        for (int i = 0; i < enemies; i++) {
+            Enemy enemy = BenchmarkFixtures.randomEnemy(random);
+            // Spread over a square twice the largest range, so some are out of range
+            enemy.setPosition(TOWER_X + (random.nextDouble() - 0.5) * 400.0,
+                              TOWER_Y + (random.nextDouble() - 0.5) * 400.0);
+            enemy.setPathIndex(random.nextDouble() * 10.0);
+            enemyList.add(enemy);
+            store.add(enemy);
+        }
+        
+        SpatialGrid grid = new SpatialGrid(0.0, 0.0, 800.0, 600.0, 64.0);
+        grid.rebuild(enemyList);
+        
+        listTower = new TowerLayout.Placement(tower, TOWER_X, TOWER_Y).createTower();
+        listTower.setSpatialGrid(grid);
+        storeTower = new TowerLayout.Placement(tower, TOWER_X, TOWER_Y).createTower();
+    }
+    
+    @Benchmark
+    public int fireList() {
+        time += 10.0;
+        hits.clear();
+        return listTower.fire(enemyList, time, hits);
+    }
+    
+    @Benchmark
+    public int fireStore() {
+        time += 10.0;
+        store.clearHits();
+        return storeTower.fire(store, time);
+    }
+}
@@ -0,0 +1,172 @@
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Active Renderer - optional render loop for the game screen. Instead of
+ * repaint() requests coalesced by the Swing repaint manager, a dedicated
+ * thread draws into a Canvas BufferStrategy (page flipping when the
+ * platform offers it) and presents frames on its own nanoTime schedule.
+ *
+ * Pacing:
+ * - targetFps > 0: one frame per 1/targetFps; when a frame is late the
+ *   schedule restarts from now instead of bursting to catch up;
+ * - vsync: frames stay on the refresh-period grid, late frames skip to
+ *   the next slot and are counted as dropped;
+ * - targetFps <= 0: render as fast as possible.
+ * Every presented frame's interval goes into a FrameTimeHistogram.
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+    private static final long serialVersionUID = 1L;
+    private static final long SPIN_THRESHOLD_NANOS = 2_000_000L; // sleep until ~2 ms before the deadline
+    private static final long STATS_INTERVAL_NANOS = 5_000_000_000L;
+    
+    /**
+     * Draws one frame (called on the render thread).
+     */
+    public interface Scene {
+        void render(Graphics2D g2d);
+    }
+    
+    private final Scene scene;
+    private final double targetFps;
+    private final boolean vsync;
+    private final boolean printStats;
+    private final FrameTimeHistogram histogram = new FrameTimeHistogram();
+    
+    private volatile boolean running;
+    private Thread renderThread;
+    private long droppedFrames;
+    
+    public ActiveRenderer(Scene scene, double targetFps, boolean vsync, boolean printStats) {
+        this.scene = scene;
+        this.targetFps = targetFps;
+        this.vsync = vsync;
+        this.printStats = printStats;
+        setIgnoreRepaint(true); // we present frames ourselves
+    }
+    
+    /**
+     * Renderer configured from system properties: -Dtd.fps (default: display
+     * refresh rate), -Dtd.vsync, -Dtd.frameStats (print the histogram every 5 s).
+     */
+    public static ActiveRenderer fromSystemProperties(Scene scene) {
+        double fps = Double.parseDouble(System.getProperty("td.fps", String.valueOf(displayRefreshRate())));
+        return new ActiveRenderer(scene, fps, Boolean.getBoolean("td.vsync"), Boolean.getBoolean("td.frameStats"));
+    }
+    
+    /**
+     * Refresh rate of the default screen, or 60 if unknown.
+     */
+    public static int displayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 60;
+        }
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? 60 : rate;
+    }
+    
+    public FrameTimeHistogram getHistogram() { return histogram; }
+    public long getDroppedFrames() { return droppedFrames; }
+    public boolean isRunning() { return running; }
+    
+    /**
+     * Start the render thread. The canvas must be displayable (on screen).
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        createBufferStrategy(2);
+        running = true;
+        renderThread = new Thread(this, "render-loop");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+    
+    /**
+     * Stop the render thread and wait for it to finish its frame.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (renderThread != null) {
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            renderThread = null;
+        }
+    }
+    
+    @Override
+    public void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        long period = targetFps > 0 ? (long) (1e9 / targetFps) : 0;
+        long deadline = System.nanoTime();
+        long lastPresent = deadline;
+        long lastStats = deadline;
+        
+        while (running) {
+            renderFrame(strategy);
+            
+            long now = System.nanoTime();
+            histogram.record(now - lastPresent);
+            lastPresent = now;
+            
+            if (printStats && now - lastStats >= STATS_INTERVAL_NANOS) {
+                System.out.println("[FRAME] " + histogram + " atlanan=" + droppedFrames);
+                histogram.reset();
+                lastStats = now;
+            }
+            
+            if (period == 0) {
+                Thread.yield();
+                continue;
+            }
+            deadline += period;
+            if (now > deadline) {
+                if (vsync) {
+                    // Stay on the refresh grid: skip the slots we missed
+                    long missed = (now - deadline) / period + 1;
+                    droppedFrames += missed;
+                    deadline += missed * period;
+                } else {
+                    deadline = now;
+                }
+            }
+            waitUntil(deadline);
+        }
+    }
+    
+    private void renderFrame(BufferStrategy strategy) {
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    scene.render(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // flush the X11 pipeline so frames appear now
+    }
+    
+    // Coarse sleep, then spin the last stretch for sub-millisecond accuracy
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > SPIN_THRESHOLD_NANOS) {
+            try {
+                Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / 1_000_000L);
+            } catch (InterruptedException e) {
+                running = false;
+                return;
+            }
+        }
+        while (System.nanoTime() < deadline && running) {
+            Thread.onSpinWait();
+        }
+    }
+}
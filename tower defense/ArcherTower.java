@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,55 +17,42 @@ public class ArcherTower extends Tower {
     }
     
     @Override
-    public List<Enemy> fire(List<Enemy> enemies, double currentTime) {
-        List<Enemy> hitEnemies = new ArrayList<>();
-        
+    public int aim(List<Enemy> enemies, double currentTime, ShotPlan plan) {
+        plan.clear();
         if (!canFire(currentTime)) {
-            return hitEnemies;
+            return 0;
         }
-        
         // Find target: closest to base among enemies in range
-        Enemy target = findTarget(enemies);
-        
+        Enemy target = findTarget(enemies, true);
         if (target != null && target.isAlive()) {
-            // Base damage (50% reduction for armored enemies)
-            double actualDamage = damageOutput;
-            if (target instanceof ArmoredEnemy) {
-                actualDamage = damageOutput * 0.5;
-            }
-            
-            // Apply distance-based damage multiplier
-            double distanceMultiplier = calculateDistanceDamageMultiplier(target);
-            actualDamage *= distanceMultiplier;
-            
-            // Only damage if enemy is still alive
-            if (target.isAlive()) {
-                target.takeDamage(actualDamage);
-                hitEnemies.add(target);
-                updateFireTime(currentTime);
-            }
+            // Base damage (50% reduction for armored enemies), scaled by distance
+            double actualDamage = target instanceof ArmoredEnemy ? damageOutput * 0.5 : damageOutput;
+            plan.add(target, actualDamage * calculateDistanceDamageMultiplier(target));
         }
-        
-        return hitEnemies;
+        return plan.size();
     }
     
-    /**
-     * Find the enemy closest to base (highest pathIndex) in range.
-     */
-    private Enemy findTarget(List<Enemy> enemies) {
-        Enemy target = null;
-        double maxPathIndex = -1.0;
+    @Override
+    public int fire(EnemyStore store, double currentTime) {
+        if (!canFire(currentTime)) {
+            return 0;
+        }
+        
+        int target = store.findTarget(x, y, targetingRange, true);
+        if (target < 0) {
+            return 0;
+        }
         
-        for (Enemy enemy : enemies) {
-            if (enemy.isAlive() && isInRange(enemy)) {
-                if (enemy.getPathIndex() > maxPathIndex) {
-                    maxPathIndex = enemy.getPathIndex();
-                    target = enemy;
-                }
-            }
+        // Base damage (50% reduction for armored enemies)
+        double actualDamage = damageOutput;
+        if (store.isArmored(target)) {
+            actualDamage = damageOutput * 0.5;
         }
+        actualDamage *= calculateDistanceDamageMultiplier(store.distanceSquared(target, x, y));
         
-        return target;
+        store.hit(target, actualDamage);
+        updateFireTime(currentTime);
+        return 1;
     }
 }
 
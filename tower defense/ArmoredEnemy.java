@@ -6,16 +6,18 @@ import java.util.Random;
  */
 public class ArmoredEnemy extends Enemy {
     
-    public ArmoredEnemy() {
-        super(50.0, 28.0, generateArmorRating(), false, 20, 12); // HP: 90 -> 50 (%44 azaltma)
+    /**
+     * Armor rating is drawn from the simulation's RNG so seeded games repeat.
+     */
+    public ArmoredEnemy(Random random) {
+        super(50.0, 28.0, generateArmorRating(random), false, 20, 12); // HP: 90 -> 50 (%44 azaltma)
     }
     
     /**
      * Generate armor rating between 50-90.
      */
-    private static int generateArmorRating() {
-        Random rand = new Random();
-        return 50 + rand.nextInt(41); // 50-90 inclusive
+    private static int generateArmorRating(Random random) {
+        return 50 + random.nextInt(41); // 50-90 inclusive
     }
     
     @Override
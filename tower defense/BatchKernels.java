@@ -0,0 +1,117 @@
+/**
+ * Batch Kernels - the per-enemy arithmetic of a cannon splash (squared
+ * distance, range test, distance damage band, armor formula) over whole
+ * EnemyStore arrays at once. That is the only batch there is: single-target
+ * shots range-test, band and armor one enemy, and list mode works on Enemy
+ * objects, not arrays, so both stay scalar code in Tower and Enemy.
+ *
+ * This class is the scalar version. The SIMD version (VectorBatchKernels,
+ * jdk.incubator.vector) overrides it and is opt-in: get() picks it with
+ *   -Dtd.vectorKernels=true --add-modules jdk.incubator.vector
+ * when the class was compiled (Maven profile "vector") and
+ * VectorBatchKernels.isSupported(). It only pays off on large, spread-out
+ * waves; in a dense crowd it hands over to the scalar loop.
+ *
+ * Both versions do the same IEEE operations per enemy in the same order
+ * (no fused multiply-add), so they give bit-identical results and a
+ * seeded game does not depend on which one ran.
+ */
+public class BatchKernels {
+    private static final BatchKernels INSTANCE = load();
+    
+    /**
+     * The fastest kernels available in this JVM.
+     */
+    public static BatchKernels get() {
+        return INSTANCE;
+    }
+    
+    private static BatchKernels load() {
+        if (Boolean.getBoolean("td.vectorKernels")) {
+            String pkg = BatchKernels.class.getPackageName();
+            String name = (pkg.isEmpty() ? "" : pkg + ".") + "VectorBatchKernels";
+            try {
+                Class<?> vector = Class.forName(name);
+                if ((Boolean) vector.getMethod("isSupported").invoke(null)) {
+                    return (BatchKernels) vector.getDeclaredConstructor().newInstance();
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not compiled in, or the incubator module was not added
+            }
+        }
+        return new BatchKernels();
+    }
+    
+    public String getName() {
+        return "scalar";
+    }
+    
+    /**
+     * Cannon splash over the store arrays: every slot below size except
+     * exceptSlot that is alive, on the ground and within radius of
+     * (cx, cy) takes damage times its distance band (as
+     * Tower.calculateDistanceDamageMultiplier for a tower of the given
+     * range), reduced by the armor formula (Enemy.calculateNetDamage). A
+     * shield that drops to 0 clears ALIVE, as EnemyStore.takeDamage does.
+     * Hit slots are written to hits from offset on, in slot order, and the
+     * shield each lost to the same index of hitDamage (both need room for
+     * size more); returns how many were hit.
+     */
+    public int splashGround(double[] x, double[] y, double[] shield, int[] armor, int[] flags, int size,
+                            double cx, double cy, double radius, double range, double damage,
+                            int exceptSlot, int[] hits, double[] hitDamage, int offset) {
+        return splashSlots(0, size, x, y, shield, armor, flags, cx, cy, radius, range, damage,
+                exceptSlot, hits, hitDamage, offset) - offset;
+    }
+    
+    /**
+     * Scalar splash over slots from..to-1; returns the new end of hits.
+     */
+    protected static int splashSlots(int from, int to, double[] x, double[] y, double[] shield, int[] armor,
+                                     int[] flags, double cx, double cy, double radius, double range, double damage,
+                                     int exceptSlot, int[] hits, double[] hitDamage, int end) {
+        double radiusSq = radius * radius;
+        for (int i = from; i < to; i++) {
+            if (i == exceptSlot || (flags[i] & (EnemyStore.ALIVE | EnemyStore.FLYING)) != EnemyStore.ALIVE) {
+                continue;
+            }
+            double dx = x[i] - cx;
+            double dy = y[i] - cy;
+            double distanceSq = dx * dx + dy * dy;
+            if (distanceSq <= radiusSq) {
+                double raw = damage * damageBand(distanceSq, range);
+                double before = shield[i];
+                shield[i] -= Enemy.calculateNetDamage(raw, armor[i]);
+                applyKill(shield, flags, i);
+                hits[end] = i;
+                hitDamage[end] = before - shield[i];
+                end++;
+            }
+        }
+        return end;
+    }
+    
+    /**
+     * Tower.calculateDistanceDamageMultiplier for a squared distance.
+     */
+    protected static double damageBand(double distanceSq, double range) {
+        if (range <= 0) {
+            return 1.0;
+        }
+        double nearEdge = range * 0.33;
+        double midEdge = range * 0.66;
+        if (distanceSq <= nearEdge * nearEdge) {
+            return 1.5;
+        } else if (distanceSq <= midEdge * midEdge) {
+            return 1.0;
+        }
+        return 0.7;
+    }
+    
+    protected static void applyKill(double[] shield, int[] flags, int slot) {
+        if (shield[slot] <= 0) {
+            shield[slot] = 0;
+            flags[slot] &= ~EnemyStore.ALIVE;
+        }
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,62 +18,52 @@ public class CannonTower extends Tower {
     }
     
     @Override
-    public List<Enemy> fire(List<Enemy> enemies, double currentTime) {
-        List<Enemy> hitEnemies = new ArrayList<>();
-        
+    public boolean targetsFlying() {
+        return false;
+    }
+    
+    @Override
+    public int aim(List<Enemy> enemies, double currentTime, ShotPlan plan) {
+        plan.clear();
         if (!canFire(currentTime)) {
-            return hitEnemies;
+            return 0;
         }
-        
         // Find target: closest to base, excluding flying enemies
-        Enemy target = findTarget(enemies);
-        
+        Enemy target = findTarget(enemies, false);
         if (target != null && target.isAlive()) {
-            // Apply distance-based damage to primary target (only if alive)
-            if (target.isAlive()) {
-                double primaryDamage = damageOutput * calculateDistanceDamageMultiplier(target);
-                target.takeDamage(primaryDamage);
-                hitEnemies.add(target);
-            }
+            plan.add(target, damageOutput * calculateDistanceDamageMultiplier(target));
             
-            // Apply splash damage to nearby enemies (excluding flying, only alive ones)
-            for (Enemy enemy : enemies) {
-                if (enemy != target && enemy.isAlive() && !enemy.isFlying()) {
-                    double distance = calculateDistance(enemy);
-                    if (distance <= EXPLOSION_RADIUS) {
-                        // Double check enemy is still alive before damaging
-                        if (enemy.isAlive()) {
-                            double splashDamage = damageOutput * calculateDistanceDamageMultiplier(enemy);
-                            enemy.takeDamage(splashDamage);
-                            hitEnemies.add(enemy);
-                        }
-                    }
+            // Splash damage to nearby enemies (excluding flying, only alive ones)
+            List<Enemy> nearby = enemiesNear(enemies, EXPLOSION_RADIUS);
+            for (int i = 0; i < nearby.size(); i++) {
+                Enemy enemy = nearby.get(i);
+                if (enemy != target && enemy.isAlive() && !enemy.isFlying()
+                        && calculateDistanceSquared(enemy) <= EXPLOSION_RADIUS * EXPLOSION_RADIUS) {
+                    plan.add(enemy, damageOutput * calculateDistanceDamageMultiplier(enemy));
                 }
             }
-            
-            updateFireTime(currentTime);
         }
-        
-        return hitEnemies;
+        return plan.size();
     }
     
-    /**
-     * Find the enemy closest to base (highest pathIndex) in range, excluding flying enemies.
-     */
-    private Enemy findTarget(List<Enemy> enemies) {
-        Enemy target = null;
-        double maxPathIndex = -1.0;
+    @Override
+    public int fire(EnemyStore store, double currentTime) {
+        if (!canFire(currentTime)) {
+            return 0;
+        }
         
-        for (Enemy enemy : enemies) {
-            if (enemy.isAlive() && !enemy.isFlying() && isInRange(enemy)) {
-                if (enemy.getPathIndex() > maxPathIndex) {
-                    maxPathIndex = enemy.getPathIndex();
-                    target = enemy;
-                }
-            }
+        int target = store.findTarget(x, y, targetingRange, false);
+        if (target < 0) {
+            return 0;
         }
         
-        return target;
+        store.hit(target, damageOutput * calculateDistanceDamageMultiplier(store.distanceSquared(target, x, y)));
+        
+        // Splash: ground enemies around the tower, a whole batch at a time
+        int splashed = store.splashGround(x, y, EXPLOSION_RADIUS, target, damageOutput, targetingRange);
+        
+        updateFireTime(currentTime);
+        return 1 + splashed;
     }
 }
 
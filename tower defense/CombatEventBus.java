@@ -0,0 +1,205 @@
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Combat Event Bus - typed stream of what happens in the simulation
+ * (spawn, hit, kill, breach, wave start/end, tower placed) for sound,
+ * UI kill feeds, statistics or telemetry, without parsing log text.
+ *
+ * The engine records events as primitives into the current Batch and
+ * publishes the batch once per tick through a Flow publisher
+ * (SubmissionPublisher). Every subscriber has its own bounded buffer and
+ * requests batches at its own pace; when a subscriber falls a whole
+ * buffer behind, new batches are dropped for it (and counted) instead of
+ * blocking the simulation thread.
+ *
+ * With no subscribers nothing is recorded and nothing is allocated.
+ * Subscribers attached mid-game start receiving after the next tick
+ * (or the next GameEngine.initializeGame).
+ */
+public class CombatEventBus implements AutoCloseable {
+    // Event kinds
+    public static final int SPAWN = 0;        // enemy, amount = armor rating
+    public static final int HIT = 1;          // tower, enemy, value = shield left
+    public static final int KILL = 2;         // tower, enemy, amount = reward
+    public static final int BREACH = 3;       // enemy, amount = kale savunması left
+    public static final int WAVE_START = 4;   // amount = wave number
+    public static final int WAVE_END = 5;     // amount = wave number
+    public static final int TOWER_PLACED = 6; // tower, amount = cost
+    
+    public static final int NONE = -1; // no enemy/tower for this event
+    
+    /**
+     * Events of one tick in parallel primitive arrays. A published batch
+     * is never written again, so subscribers may keep it.
+     */
+    public static final class Batch {
+        private long tick;
+        private int size;
+        private int[] kinds;
+        private double[] times;
+        private int[] enemyKinds;
+        private int[] towerKinds;
+        private double[] values;
+        private int[] amounts;
+        private double[] xs;
+        private double[] ys;
+        
+        Batch(int capacity) {
+            kinds = new int[capacity];
+            times = new double[capacity];
+            enemyKinds = new int[capacity];
+            towerKinds = new int[capacity];
+            values = new double[capacity];
+            amounts = new int[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+        }
+        
+        public long getTick() { return tick; }
+        public int size() { return size; }
+        public int getKind(int i) { return kinds[i]; }
+        public double getTime(int i) { return times[i]; }
+        public int getEnemyKind(int i) { return enemyKinds[i]; }
+        public int getTowerKind(int i) { return towerKinds[i]; }
+        public double getValue(int i) { return values[i]; }
+        public int getAmount(int i) { return amounts[i]; }
+        public double getX(int i) { return xs[i]; }
+        public double getY(int i) { return ys[i]; }
+        
+        void add(int kind, double time, int enemyKind, int towerKind, double value, int amount,
+                 double x, double y) {
+            if (size == kinds.length) {
+                grow();
+            }
+            kinds[size] = kind;
+            times[size] = time;
+            enemyKinds[size] = enemyKind;
+            towerKinds[size] = towerKind;
+            values[size] = value;
+            amounts[size] = amount;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+        
+        private void grow() {
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            times = Arrays.copyOf(times, capacity);
+            enemyKinds = Arrays.copyOf(enemyKinds, capacity);
+            towerKinds = Arrays.copyOf(towerKinds, capacity);
+            values = Arrays.copyOf(values, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+    }
+    
+    private static final int INITIAL_BATCH_CAPACITY = 64;
+    
+    private final SubmissionPublisher<Batch> publisher;
+    private Batch pending;     // events of the current tick (simulation thread only)
+    private boolean recording; // there were subscribers at the last publish
+    private volatile long droppedBatches;
+    
+    /**
+     * Bus delivering on the common ForkJoinPool with the default
+     * per-subscriber buffer (Flow.defaultBufferSize() batches).
+     */
+    public CombatEventBus() {
+        this(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+    
+    public CombatEventBus(Executor executor, int bufferCapacity) {
+        publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+    
+    /**
+     * Add a subscriber (any thread). It receives batches from the tick
+     * after the next publish on; backpressure is its Flow.Subscription.
+     */
+    public void subscribe(Flow.Subscriber<? super Batch> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+    
+    public boolean isRecording() { return recording; }
+    public long getDroppedBatches() { return droppedBatches; }
+    
+    // --- Producer side (simulation thread) ---
+    
+    public void spawn(double time, int enemyKind, int armorRating, double x, double y) {
+        if (recording) {
+            pending.add(SPAWN, time, enemyKind, NONE, 0.0, armorRating, x, y);
+        }
+    }
+    
+    public void hit(double time, int towerKind, int enemyKind, double shieldLeft, double x, double y) {
+        if (recording) {
+            pending.add(HIT, time, enemyKind, towerKind, shieldLeft, 0, x, y);
+        }
+    }
+    
+    public void kill(double time, int towerKind, int enemyKind, int reward, double x, double y) {
+        if (recording) {
+            pending.add(KILL, time, enemyKind, towerKind, 0.0, reward, x, y);
+        }
+    }
+    
+    public void breach(double time, int enemyKind, int shieldIntegrity) {
+        if (recording) {
+            pending.add(BREACH, time, enemyKind, NONE, 0.0, shieldIntegrity, 0.0, 0.0);
+        }
+    }
+    
+    public void waveStart(double time, int wave) {
+        if (recording) {
+            pending.add(WAVE_START, time, NONE, NONE, 0.0, wave, 0.0, 0.0);
+        }
+    }
+    
+    public void waveEnd(double time, int wave) {
+        if (recording) {
+            pending.add(WAVE_END, time, NONE, NONE, 0.0, wave, 0.0, 0.0);
+        }
+    }
+    
+    public void towerPlaced(double time, int towerKind, int cost, double x, double y) {
+        if (recording) {
+            pending.add(TOWER_PLACED, time, NONE, towerKind, 0.0, cost, x, y);
+        }
+    }
+    
+    /**
+     * Hand the events recorded since the last call to the subscribers
+     * (called by GameEngine at the end of every tick). Never blocks: a
+     * subscriber whose buffer is full misses this batch.
+     */
+    public void publish(long tick) {
+        if (recording && pending.size > 0) {
+            Batch batch = pending;
+            batch.tick = tick;
+            pending = new Batch(Math.max(INITIAL_BATCH_CAPACITY, batch.size));
+            publisher.offer(batch, (subscriber, dropped) -> {
+                droppedBatches++; // only the simulation thread offers
+                return false;     // don't retry
+            });
+        }
+        boolean subscribed = publisher.hasSubscribers();
+        if (subscribed && pending == null) {
+            pending = new Batch(INITIAL_BATCH_CAPACITY);
+        }
+        recording = subscribed;
+    }
+    
+    /**
+     * Complete all subscriptions.
+     */
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
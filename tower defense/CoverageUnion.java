@@ -0,0 +1,105 @@
+import java.util.Arrays;
+
+/**
+ * Coverage Union - the path covered by a set of towers: their coverage
+ * intervals (Path.coverage) merged into one ascending list, so how soon an
+ * enemy walks onto any of them is one binary search instead of one look
+ * per tower. GameEngine fills one for ground and one for flying enemies
+ * with the ready towers when it looks for the next event.
+ *
+ * Reused: clear, add the towers, build, then query.
+ */
+class CoverageUnion {
+    private double[] starts = new double[16];
+    private double[] ends = new double[16];
+    private int count;
+    private double[] merged = new double[16]; // {from0, to0, from1, to1, ...}
+    private int mergedLength;
+    private boolean everywhere; // a tower without coverage may reach anything
+    
+    void clear() {
+        count = 0;
+        mergedLength = 0;
+        everywhere = false;
+    }
+    
+    /**
+     * Add one tower's coverage (null = no coverage index, covers everything).
+     */
+    void add(double[] coverage) {
+        if (coverage == null) {
+            everywhere = true;
+            return;
+        }
+        if (count + coverage.length / 2 > starts.length) {
+            int capacity = Math.max(starts.length * 2, count + coverage.length / 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        for (int k = 0; k < coverage.length; k += 2) {
+            starts[count] = coverage[k];
+            ends[count] = coverage[k + 1];
+            count++;
+        }
+    }
+    
+    /**
+     * Merge the added intervals: with starts and ends sorted separately, a
+     * run of the union opens when the overlap depth leaves 0 and closes when
+     * it gets back to 0 (starts first on ties, so touching intervals join).
+     */
+    void build() {
+        mergedLength = 0;
+        if (everywhere || count == 0) {
+            return;
+        }
+        Arrays.sort(starts, 0, count);
+        Arrays.sort(ends, 0, count);
+        if (count * 2 > merged.length) {
+            merged = new double[count * 2];
+        }
+        int depth = 0;
+        int e = 0;
+        for (int s = 0; s < count; s++) {
+            while (ends[e] < starts[s]) {
+                if (--depth == 0) {
+                    merged[mergedLength++] = ends[e];
+                }
+                e++;
+            }
+            if (depth++ == 0) {
+                merged[mergedLength++] = starts[s];
+            }
+        }
+        merged[mergedLength++] = ends[count - 1]; // every interval has started: the last end closes the run
+    }
+    
+    /**
+     * Seconds until an enemy at pathIndex, moving rate pathIndex per second,
+     * is on the covered path: 0 if it is now, infinity if it never will be.
+     */
+    double timeUntilCovered(double pathIndex, double rate) {
+        if (everywhere) {
+            return 0.0;
+        }
+        // First run that ends at or after pathIndex
+        int lo = 0;
+        int hi = mergedLength / 2;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (merged[2 * mid + 1] < pathIndex) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo == mergedLength / 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double from = merged[2 * lo];
+        if (pathIndex >= from) {
+            return 0.0;
+        }
+        return rate > 0 ? (from - pathIndex) / rate : Double.POSITIVE_INFINITY;
+    }
+}
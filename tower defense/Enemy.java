@@ -9,15 +9,20 @@ public abstract class Enemy {
     protected int armorRating; // ZIRH
     protected boolean isFlying;
     protected double x, y; // Position
+    protected double prevX, prevY; // Position at the start of the tick (for render interpolation)
     protected double pathIndex; // Current position on path (double for smooth movement)
     protected boolean isAlive;
     
     public void setAlive(boolean alive) {
         this.isAlive = alive;
     }
-    protected double slowEffectTimer; // For ice tower effect
+    protected double slowEffectTimer; // For ice tower effect (with a timer wheel: duration, not counted down)
     protected double originalVelocity;
     
+    private TimerWheel statusTimers; // Expires status effects on their deadline (null = count timers down)
+    private long slowDeadline; // Tick the slow expires at (with statusTimers)
+    private int slowGeneration; // Bumped by every slow, so an expiry for an older one is ignored
+    
     // Encapsulation: private fields with getters/setters
     private int rewardEnergy; // KAZANILAN PARA
     private int baseDamage; // USSE ULASTIGINDA VERILEN HASAR
@@ -43,12 +48,19 @@ public abstract class Enemy {
     public double getMaxShieldIntegrity() { return maxShieldIntegrity; }
     public double getVelocity() { return velocity; }
     public double getOriginalVelocity() { return originalVelocity; }
-    public double getSlowEffectTimer() { return slowEffectTimer; }
+    public double getSlowEffectTimer() {
+        if (statusTimers != null && slowEffectTimer > 0) {
+            return Math.max(0.0, statusTimers.secondsUntil(slowDeadline)); // remaining time
+        }
+        return slowEffectTimer;
+    }
     public boolean hasSlowEffect() { return slowEffectTimer > 0; }
     public int getArmorRating() { return armorRating; }
     public boolean isFlying() { return isFlying; }
     public double getX() { return x; }
     public double getY() { return y; }
+    public double getPrevX() { return prevX; }
+    public double getPrevY() { return prevY; }
     public double getPathIndex() { return pathIndex; }
     public boolean isAlive() { return isAlive; }
     public int getRewardEnergy() { return rewardEnergy; }
@@ -59,6 +71,14 @@ public abstract class Enemy {
         this.y = y;
     }
     
+    /**
+     * Remember the current position as the previous tick's position.
+     */
+    public void capturePreviousPosition() {
+        prevX = x;
+        prevY = y;
+    }
+    
     public void setPathIndex(double index) {
         this.pathIndex = index;
     }
@@ -91,18 +111,47 @@ public abstract class Enemy {
      * Formula: Net_Hasar = Kule_Hasarı * (1 - (Zırh / (Zırh + 100.0)))
      */
     protected double calculateNetDamage(double rawDamage) {
+        return calculateNetDamage(rawDamage, armorRating);
+    }
+    
+    /**
+     * Armor formula shared with EnemyStore (same as above, for any armor value).
+     */
+    public static double calculateNetDamage(double rawDamage, int armorRating) {
         if (armorRating <= 0) {
             return rawDamage;
         }
         return rawDamage * (1 - (armorRating / (armorRating + 100.0)));
     }
     
+    /**
+     * Expire status effects through the given timer wheel instead of
+     * updateSlowEffect (set by GameEngine when the enemy spawns).
+     */
+    public void setStatusTimers(TimerWheel statusTimers) {
+        this.statusTimers = statusTimers;
+    }
+    
     /**
      * Apply slow effect from ice tower.
      */
     public void applySlowEffect(double duration) {
         slowEffectTimer = duration;
         velocity = originalVelocity * 0.5; // 50% speed reduction
+        slowGeneration++;
+        if (statusTimers != null) {
+            slowDeadline = statusTimers.scheduleAfter(duration, TimerWheel.SLOW_EXPIRY, this, slowGeneration);
+        }
+    }
+    
+    /**
+     * Timer wheel callback: end the slow if it is still the one the timer was set for.
+     */
+    public void expireSlowEffect(int generation) {
+        if (statusTimers != null && generation == slowGeneration && slowEffectTimer > 0) {
+            slowEffectTimer = 0;
+            velocity = originalVelocity; // Restore original velocity
+        }
     }
     
     /**
@@ -118,6 +167,20 @@ public abstract class Enemy {
         }
     }
     
+    /**
+     * Overwrite the mutable state (used by EnemyStore to write back its arrays).
+     */
+    void restoreState(double shieldIntegrity, double velocity, double pathIndex,
+                      double x, double y, double slowEffectTimer, boolean alive) {
+        this.shieldIntegrity = shieldIntegrity;
+        this.velocity = velocity;
+        this.pathIndex = pathIndex;
+        this.x = x;
+        this.y = y;
+        this.slowEffectTimer = slowEffectTimer;
+        this.isAlive = alive;
+    }
+    
     /**
      * Check if enemy reached the base.
      */
@@ -0,0 +1,286 @@
+/**
+ * Enemy Store - optional structure-of-arrays copy of the enemy hot state.
+ * When GameEngine runs with the store enabled, movement, tower targeting,
+ * damage and dead-enemy removal iterate these primitive arrays instead of
+ * chasing Enemy objects. The Enemy objects stay as handles for rendering
+ * and logging and are written back once per tick during compaction.
+ *
+ * Slots are dense (0 .. size-1); dead enemies are removed by swapping the
+ * last slot into their place, so slot numbers change during compaction.
+ */
+public class EnemyStore {
+    // Flag bits
+    public static final int ALIVE = 1;
+    public static final int FLYING = 2;
+    public static final int ARMORED = 4;
+    
+    private double[] shieldIntegrity;
+    private double[] velocity;
+    private double[] originalVelocity;
+    private double[] pathIndex;
+    private double[] x;
+    private double[] y;
+    private double[] slowEffectTimer;
+    private int[] armorRating;
+    private int[] flags;
+    private Enemy[] handles;
+    private int size;
+    
+    // Slots hit by the tower that fired last, and the shield each lost (see clearHits/hit)
+    private int[] hitSlots = new int[16];
+    private double[] hitDamage = new double[16];
+    private int hitCount;
+    
+    private BatchKernels kernels = BatchKernels.get(); // Splash arithmetic over the arrays
+    
+    public EnemyStore() {
+        this(64);
+    }
+    
+    public EnemyStore(int initialCapacity) {
+        allocate(Math.max(1, initialCapacity));
+    }
+    
+    private void allocate(int capacity) {
+        shieldIntegrity = grow(shieldIntegrity, capacity);
+        velocity = grow(velocity, capacity);
+        originalVelocity = grow(originalVelocity, capacity);
+        pathIndex = grow(pathIndex, capacity);
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        slowEffectTimer = grow(slowEffectTimer, capacity);
+        armorRating = grow(armorRating, capacity);
+        flags = grow(flags, capacity);
+        Enemy[] newHandles = new Enemy[capacity];
+        if (handles != null) {
+            System.arraycopy(handles, 0, newHandles, 0, size);
+        }
+        handles = newHandles;
+    }
+    
+    private double[] grow(double[] old, int capacity) {
+        double[] array = new double[capacity];
+        if (old != null) {
+            System.arraycopy(old, 0, array, 0, size);
+        }
+        return array;
+    }
+    
+    private int[] grow(int[] old, int capacity) {
+        int[] array = new int[capacity];
+        if (old != null) {
+            System.arraycopy(old, 0, array, 0, size);
+        }
+        return array;
+    }
+    
+    // Encapsulation: read access by slot
+    public int size() { return size; }
+    public Enemy getHandle(int slot) { return handles[slot]; }
+    public double getShieldIntegrity(int slot) { return shieldIntegrity[slot]; }
+    public double getVelocity(int slot) { return velocity[slot]; }
+    public double getPathIndex(int slot) { return pathIndex[slot]; }
+    public double getX(int slot) { return x[slot]; }
+    public double getY(int slot) { return y[slot]; }
+    public int getArmorRating(int slot) { return armorRating[slot]; }
+    public boolean isAlive(int slot) { return (flags[slot] & ALIVE) != 0; }
+    public boolean isFlying(int slot) { return (flags[slot] & FLYING) != 0; }
+    public boolean isArmored(int slot) { return (flags[slot] & ARMORED) != 0; }
+    
+    /**
+     * Use the given kernels (benchmarks compare scalar and vector ones).
+     */
+    public void setKernels(BatchKernels kernels) {
+        this.kernels = kernels;
+    }
+    
+    /**
+     * Copy an enemy's state into a new slot. Returns the slot.
+     */
+    public int add(Enemy enemy) {
+        if (size == handles.length) {
+            allocate(size * 2);
+        }
+        int slot = size++;
+        shieldIntegrity[slot] = enemy.getShieldIntegrity();
+        velocity[slot] = enemy.getVelocity();
+        originalVelocity[slot] = enemy.getOriginalVelocity();
+        pathIndex[slot] = enemy.getPathIndex();
+        x[slot] = enemy.getX();
+        y[slot] = enemy.getY();
+        slowEffectTimer[slot] = enemy.getSlowEffectTimer();
+        armorRating[slot] = enemy.getArmorRating();
+        flags[slot] = (enemy.isAlive() ? ALIVE : 0)
+                | (enemy.isFlying() ? FLYING : 0)
+                | (enemy instanceof ArmoredEnemy ? ARMORED : 0);
+        handles[slot] = enemy;
+        return slot;
+    }
+    
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            handles[i] = null;
+        }
+        size = 0;
+        hitCount = 0;
+    }
+    
+    /**
+     * Advance slow timers and path progress of every alive enemy.
+     * Mirrors Enemy.updateSlowEffect and GameEngine's movement formula.
+     */
+    public void advance(double deltaTime) {
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & ALIVE) == 0) {
+                continue;
+            }
+            if (slowEffectTimer[i] > 0) {
+                slowEffectTimer[i] -= deltaTime;
+                if (slowEffectTimer[i] <= 0) {
+                    slowEffectTimer[i] = 0;
+                    velocity[i] = originalVelocity[i];
+                }
+            }
+            double pixelsPerSecond = velocity[i] * 2.0;
+            pathIndex[i] += pixelsPerSecond * deltaTime / 50.0;
+        }
+    }
+    
+    public void setPosition(int slot, double px, double py) {
+        x[slot] = px;
+        y[slot] = py;
+    }
+    
+    public void kill(int slot) {
+        flags[slot] &= ~ALIVE;
+    }
+    
+    /**
+     * Apply raw damage with the armor formula. Returns true if destroyed.
+     */
+    public boolean takeDamage(int slot, double rawDamage) {
+        shieldIntegrity[slot] -= Enemy.calculateNetDamage(rawDamage, armorRating[slot]);
+        if (shieldIntegrity[slot] <= 0) {
+            shieldIntegrity[slot] = 0;
+            flags[slot] &= ~ALIVE;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * A tower hit: takeDamage, then record the slot and the shield it lost
+     * in the hit buffer.
+     */
+    public void hit(int slot, double rawDamage) {
+        double before = shieldIntegrity[slot];
+        takeDamage(slot, rawDamage);
+        if (hitCount == hitSlots.length) {
+            growHits(hitCount + 1);
+        }
+        hitSlots[hitCount] = slot;
+        hitDamage[hitCount] = before - shieldIntegrity[slot];
+        hitCount++;
+    }
+    
+    /**
+     * Apply the ice tower slow (50% speed) for duration seconds.
+     */
+    public void applySlowEffect(int slot, double duration) {
+        slowEffectTimer[slot] = duration;
+        velocity[slot] = originalVelocity[slot] * 0.5;
+    }
+    
+    /**
+     * Slot of the alive enemy with the highest pathIndex within range of
+     * (tx, ty), or -1. Ties keep the lowest slot, like the list scan.
+     */
+    public int findTarget(double tx, double ty, double range, boolean targetFlying) {
+        double rangeSq = range * range;
+        int skipFlags = targetFlying ? 0 : FLYING;
+        int target = -1;
+        double maxPathIndex = -1.0;
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & ALIVE) == 0 || (flags[i] & skipFlags) != 0) {
+                continue;
+            }
+            double dx = x[i] - tx;
+            double dy = y[i] - ty;
+            if (dx * dx + dy * dy <= rangeSq && pathIndex[i] > maxPathIndex) {
+                maxPathIndex = pathIndex[i];
+                target = i;
+            }
+        }
+        return target;
+    }
+    
+    /**
+     * Squared distance from (tx, ty) to the enemy in slot.
+     */
+    public double distanceSquared(int slot, double tx, double ty) {
+        double dx = x[slot] - tx;
+        double dy = y[slot] - ty;
+        return dx * dx + dy * dy;
+    }
+    
+    /**
+     * Splash damage around (tx, ty): every alive ground enemy within radius,
+     * except the given slot, takes damage times its distance band for a
+     * tower of the given range, through the armor formula. Hit slots are
+     * added to the hit buffer in slot order; returns how many. Runs on
+     * BatchKernels (SIMD with -Dtd.vectorKernels=true).
+     */
+    public int splashGround(double tx, double ty, double radius, int exceptSlot, double damage, double range) {
+        if (hitCount + size > hitSlots.length) {
+            growHits(hitCount + size);
+        }
+        int added = kernels.splashGround(x, y, shieldIntegrity, armorRating, flags, size,
+                tx, ty, radius, range, damage, exceptSlot, hitSlots, hitDamage, hitCount);
+        hitCount += added;
+        return added;
+    }
+    
+    // Hit buffer: filled by Tower.fire(EnemyStore, ...), read by GameEngine
+    public void clearHits() { hitCount = 0; }
+    public int getHitCount() { return hitCount; }
+    public int getHitSlot(int i) { return hitSlots[i]; }
+    public double getHitDamage(int i) { return hitDamage[i]; }
+    
+    private void growHits(int needed) {
+        int capacity = Math.max(hitSlots.length * 2, needed);
+        int[] slots = new int[capacity];
+        double[] damage = new double[capacity];
+        System.arraycopy(hitSlots, 0, slots, 0, hitCount);
+        System.arraycopy(hitDamage, 0, damage, 0, hitCount);
+        hitSlots = slots;
+        hitDamage = damage;
+    }
+    
+    /**
+     * Write a slot's state back into its Enemy handle.
+     */
+    public void syncHandle(int slot) {
+        handles[slot].restoreState(shieldIntegrity[slot], velocity[slot], pathIndex[slot],
+                x[slot], y[slot], slowEffectTimer[slot], (flags[slot] & ALIVE) != 0);
+    }
+    
+    /**
+     * Remove the slot by moving the last slot into it (O(1), order changes).
+     */
+    public void swapRemove(int slot) {
+        int last = --size;
+        if (slot != last) {
+            shieldIntegrity[slot] = shieldIntegrity[last];
+            velocity[slot] = velocity[last];
+            originalVelocity[slot] = originalVelocity[last];
+            pathIndex[slot] = pathIndex[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            slowEffectTimer[slot] = slowEffectTimer[last];
+            armorRating[slot] = armorRating[last];
+            flags[slot] = flags[last];
+            handles[slot] = handles[last];
+        }
+        handles[last] = null;
+    }
+}
@@ -0,0 +1,209 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Engine Metrics - where GameEngine.update spends its time, for JMX.
+ * The simulation thread marks phase boundaries with plain field writes
+ * (lap/mark) and hands the tick over in one synchronized endTick call;
+ * JMX reads take the same lock. Each phase has its own FrameTimeHistogram
+ * with 2 us buckets up to 20 ms.
+ *
+ * Only created when GameEngine.enableMetrics() is called, so headless
+ * runs and benchmarks pay nothing.
+ */
+public class EngineMetrics implements EngineMetricsMBean {
+    // Phases of GameEngine.update
+    public static final int UPDATE_ENEMIES = 0;
+    public static final int UPDATE_TOWERS = 1;
+    public static final int REMOVE_DEAD_ENEMIES = 2;
+    public static final int CHECK_GAME_STATE = 3;
+    private static final int PHASES = 4;
+    
+    private static final long BUCKET_NANOS = 2_000L;
+    private static final int BUCKETS = 10_000;
+    private static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+    private static final AtomicInteger instances = new AtomicInteger();
+    
+    private final GameLogger logger; // for the queue depth (may be null)
+    private final FrameTimeHistogram tick = new FrameTimeHistogram(BUCKET_NANOS, BUCKETS);
+    private final FrameTimeHistogram[] phases = new FrameTimeHistogram[PHASES];
+    private ObjectName objectName;
+    
+    // Simulation thread only, between begin and endTick
+    private long tickStart;
+    private long lastMark;
+    private final long[] phaseNanos = new long[PHASES];
+    private volatile long lastTickNanos; // read without the lock (PerformanceOverlay)
+    
+    // Guarded by this
+    private int enemyCount;
+    private int towerCount;
+    private long windowStart;
+    private long lastShots, lastKills, lastBreaches;       // totals at the previous tick
+    private long windowShots, windowKills, windowBreaches; // counted since windowStart
+    private double shotsPerSecond, killsPerSecond, breachesPerSecond;
+    
+    public EngineMetrics(GameLogger logger) {
+        this.logger = logger;
+        for (int i = 0; i < PHASES; i++) {
+            phases[i] = new FrameTimeHistogram(BUCKET_NANOS, BUCKETS);
+        }
+    }
+    
+    /**
+     * Register with the platform MBean server as TowerDefense:type=EngineMetrics
+     * (plus a number for every further engine in the JVM).
+     */
+    public void register() {
+        int instance = instances.getAndIncrement();
+        try {
+            String name = "TowerDefense:type=EngineMetrics" + (instance == 0 ? "" : ",name=engine" + instance);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName(name);
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            objectName = null;
+            System.err.println("Motor metrikleri kaydedilemedi: " + e.getMessage());
+        }
+    }
+    
+    public void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            System.err.println("Motor metrikleri kaldırılamadı: " + e.getMessage());
+        }
+        objectName = null;
+    }
+    
+    // --- Simulation thread ---
+    
+    /**
+     * A tick starts.
+     */
+    public void begin() {
+        tickStart = System.nanoTime();
+        lastMark = tickStart;
+        for (int i = 0; i < PHASES; i++) {
+            phaseNanos[i] = 0;
+        }
+    }
+    
+    /**
+     * The given phase ends now (it started at the previous lap or mark).
+     */
+    public void lap(int phase) {
+        long now = System.nanoTime();
+        phaseNanos[phase] += now - lastMark;
+        lastMark = now;
+    }
+    
+    /**
+     * Work outside the measured phases ends now.
+     */
+    public void mark() {
+        lastMark = System.nanoTime();
+    }
+    
+    /**
+     * The tick is over: record its timings, counts and running totals.
+     */
+    public synchronized void endTick(int enemies, int towers, long shots, long kills, long breaches) {
+        long now = System.nanoTime();
+        lastTickNanos = now - tickStart;
+        tick.record(lastTickNanos);
+        for (int i = 0; i < PHASES; i++) {
+            phases[i].record(phaseNanos[i]);
+        }
+        enemyCount = enemies;
+        towerCount = towers;
+        
+        windowShots += since(shots, lastShots);
+        windowKills += since(kills, lastKills);
+        windowBreaches += since(breaches, lastBreaches);
+        lastShots = shots;
+        lastKills = kills;
+        lastBreaches = breaches;
+        if (windowStart == 0) {
+            windowStart = now;
+        } else if (now - windowStart >= RATE_WINDOW_NANOS) {
+            double seconds = (now - windowStart) / 1e9;
+            shotsPerSecond = windowShots / seconds;
+            killsPerSecond = windowKills / seconds;
+            breachesPerSecond = windowBreaches / seconds;
+            windowStart = now;
+            windowShots = 0;
+            windowKills = 0;
+            windowBreaches = 0;
+        }
+    }
+    
+    // Growth of a per-game total (the totals restart with every game)
+    private static long since(long total, long last) {
+        return total >= last ? total - last : total;
+    }
+    
+    // --- MBean (any thread) ---
+    
+    private static double micros(double millis) {
+        return millis * 1000.0;
+    }
+    
+    @Override public synchronized long getTickCount() { return tick.getCount(); }
+    @Override public double getLastTickMicros() { return lastTickNanos / 1000.0; }
+    @Override public synchronized double getTickMeanMicros() { return micros(tick.getMeanMillis()); }
+    @Override public synchronized double getTickP50Micros() { return micros(tick.getPercentileMillis(50)); }
+    @Override public synchronized double getTickP99Micros() { return micros(tick.getPercentileMillis(99)); }
+    @Override public synchronized double getTickMaxMicros() { return micros(tick.getMaxMillis()); }
+    
+    private synchronized double percentile(int phase, double percentile) {
+        return micros(phases[phase].getPercentileMillis(percentile));
+    }
+    
+    private synchronized double max(int phase) {
+        return micros(phases[phase].getMaxMillis());
+    }
+    
+    @Override public double getUpdateEnemiesP50Micros() { return percentile(UPDATE_ENEMIES, 50); }
+    @Override public double getUpdateEnemiesP99Micros() { return percentile(UPDATE_ENEMIES, 99); }
+    @Override public double getUpdateEnemiesMaxMicros() { return max(UPDATE_ENEMIES); }
+    @Override public double getUpdateTowersP50Micros() { return percentile(UPDATE_TOWERS, 50); }
+    @Override public double getUpdateTowersP99Micros() { return percentile(UPDATE_TOWERS, 99); }
+    @Override public double getUpdateTowersMaxMicros() { return max(UPDATE_TOWERS); }
+    @Override public double getRemoveDeadEnemiesP50Micros() { return percentile(REMOVE_DEAD_ENEMIES, 50); }
+    @Override public double getRemoveDeadEnemiesP99Micros() { return percentile(REMOVE_DEAD_ENEMIES, 99); }
+    @Override public double getRemoveDeadEnemiesMaxMicros() { return max(REMOVE_DEAD_ENEMIES); }
+    @Override public double getCheckGameStateP50Micros() { return percentile(CHECK_GAME_STATE, 50); }
+    @Override public double getCheckGameStateP99Micros() { return percentile(CHECK_GAME_STATE, 99); }
+    @Override public double getCheckGameStateMaxMicros() { return max(CHECK_GAME_STATE); }
+    
+    @Override public synchronized int getEnemyCount() { return enemyCount; }
+    @Override public synchronized int getTowerCount() { return towerCount; }
+    @Override public synchronized double getShotsPerSecond() { return shotsPerSecond; }
+    @Override public synchronized double getKillsPerSecond() { return killsPerSecond; }
+    @Override public synchronized double getBreachesPerSecond() { return breachesPerSecond; }
+    
+    @Override
+    public int getLogQueueDepth() {
+        return logger != null ? logger.getQueueDepth() : 0;
+    }
+    
+    @Override
+    public long getLogDroppedCount() {
+        return logger != null ? logger.getDroppedCount() : 0;
+    }
+    
+    @Override
+    public synchronized void resetTimings() {
+        tick.reset();
+        for (FrameTimeHistogram phase : phases) {
+            phase.reset();
+        }
+    }
+}
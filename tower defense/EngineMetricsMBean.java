@@ -0,0 +1,39 @@
+/**
+ * JMX view of EngineMetrics (JConsole: MBeans > TowerDefense > EngineMetrics).
+ * Timings are in microseconds since the last resetTimings(); rates are
+ * per wall-clock second over the last full second of ticks.
+ */
+public interface EngineMetricsMBean {
+    long getTickCount();
+    double getLastTickMicros();
+    double getTickMeanMicros();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickMaxMicros();
+    
+    double getUpdateEnemiesP50Micros();
+    double getUpdateEnemiesP99Micros();
+    double getUpdateEnemiesMaxMicros();
+    double getUpdateTowersP50Micros();
+    double getUpdateTowersP99Micros();
+    double getUpdateTowersMaxMicros();
+    double getRemoveDeadEnemiesP50Micros();
+    double getRemoveDeadEnemiesP99Micros();
+    double getRemoveDeadEnemiesMaxMicros();
+    double getCheckGameStateP50Micros();
+    double getCheckGameStateP99Micros();
+    double getCheckGameStateMaxMicros();
+    
+    int getEnemyCount();
+    int getTowerCount();
+    double getShotsPerSecond();
+    double getKillsPerSecond();
+    double getBreachesPerSecond();
+    int getLogQueueDepth();
+    long getLogDroppedCount();
+    
+    /**
+     * Start the timing histograms over (e.g. after changing a setting).
+     */
+    void resetTimings();
+}
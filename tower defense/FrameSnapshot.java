@@ -0,0 +1,182 @@
+import java.util.List;
+
+/**
+ * Frame Snapshot - read-only copy of everything the renderer needs for one
+ * frame: scalar game state plus enemy and tower data in primitive arrays.
+ * GameEngine fills a snapshot at the end of every tick and publishes it
+ * through a SnapshotBuffer; the arrays are reused, so publishing does not
+ * allocate once they have grown to the largest horde.
+ *
+ * Enemies carry their position from the start of the tick as well, so a
+ * renderer running between ticks can interpolate.
+ *
+ * Only the first getEnemyCount()/getTowerCount() entries of each array are
+ * valid. Readers must treat the snapshot as immutable and may only use it
+ * until they acquire the next one (see SnapshotBuffer).
+ */
+public class FrameSnapshot {
+    // Enemy kinds
+    public static final int STANDARD = 0;
+    public static final int ARMORED = 1;
+    public static final int FLYING = 2;
+    
+    // Tower kinds (same order as the GUI buttons)
+    public static final int ARCHER = 0;
+    public static final int CANNON = 1;
+    public static final int ICE = 2;
+    
+    private long tick;
+    private long publishNanos; // System.nanoTime() when the tick was published
+    private double gameTime;
+    private int shieldIntegrity;
+    private int energyCore;
+    private int currentWave;
+    private int totalWaves;
+    private boolean gameRunning;
+    private boolean gameWon;
+    private boolean gameLost;
+    
+    private int enemyCount;
+    private int[] enemyKind = new int[0];
+    private double[] enemyX = new double[0];
+    private double[] enemyY = new double[0];
+    private double[] enemyPrevX = new double[0];
+    private double[] enemyPrevY = new double[0];
+    private double[] enemyShield = new double[0];
+    private double[] enemyMaxShield = new double[0];
+    private boolean[] enemySlowed = new boolean[0];
+    
+    private int towerCount;
+    private int[] towerKind = new int[0];
+    private double[] towerX = new double[0];
+    private double[] towerY = new double[0];
+    private double[] towerRange = new double[0];
+    
+    // Encapsulation: read-only getters
+    public long getTick() { return tick; }
+    public long getPublishNanos() { return publishNanos; }
+    public double getGameTime() { return gameTime; }
+    public int getPlayerShieldIntegrity() { return shieldIntegrity; }
+    public int getEnergyCore() { return energyCore; }
+    public int getCurrentWave() { return currentWave; }
+    public int getTotalWaves() { return totalWaves; }
+    public boolean isGameRunning() { return gameRunning; }
+    public boolean isGameWon() { return gameWon; }
+    public boolean isGameLost() { return gameLost; }
+    
+    public int getEnemyCount() { return enemyCount; }
+    public int getEnemyKind(int i) { return enemyKind[i]; }
+    public double getEnemyX(int i) { return enemyX[i]; }
+    public double getEnemyY(int i) { return enemyY[i]; }
+    public double getEnemyPrevX(int i) { return enemyPrevX[i]; }
+    public double getEnemyPrevY(int i) { return enemyPrevY[i]; }
+    public double getEnemyShield(int i) { return enemyShield[i]; }
+    public double getEnemyMaxShield(int i) { return enemyMaxShield[i]; }
+    public boolean isEnemySlowed(int i) { return enemySlowed[i]; }
+    
+    public int getTowerCount() { return towerCount; }
+    public int getTowerKind(int i) { return towerKind[i]; }
+    public double getTowerX(int i) { return towerX[i]; }
+    public double getTowerY(int i) { return towerY[i]; }
+    public double getTowerRange(int i) { return towerRange[i]; }
+    
+    /**
+     * Enemy kind constant for an enemy.
+     */
+    public static int enemyKindOf(Enemy enemy) {
+        if (enemy.isFlying()) {
+            return FLYING;
+        } else if (enemy instanceof ArmoredEnemy) {
+            return ARMORED;
+        }
+        return STANDARD;
+    }
+    
+    /**
+     * Tower kind constant for a tower instance.
+     */
+    public static int towerKindOf(Tower tower) {
+        if (tower instanceof CannonTower) {
+            return CANNON;
+        } else if (tower instanceof IceTower) {
+            return ICE;
+        }
+        return ARCHER;
+    }
+    
+    /**
+     * Copy the scalar game state (called by GameEngine only).
+     */
+    void setState(long tick, double gameTime, int shieldIntegrity, int energyCore, int currentWave,
+                  int totalWaves, boolean gameRunning, boolean gameWon, boolean gameLost) {
+        this.tick = tick;
+        this.publishNanos = System.nanoTime();
+        this.gameTime = gameTime;
+        this.shieldIntegrity = shieldIntegrity;
+        this.energyCore = energyCore;
+        this.currentWave = currentWave;
+        this.totalWaves = totalWaves;
+        this.gameRunning = gameRunning;
+        this.gameWon = gameWon;
+        this.gameLost = gameLost;
+    }
+    
+    /**
+     * Copy alive enemies (called by GameEngine only).
+     */
+    void setEnemies(List<Enemy> enemies) {
+        int n = enemies.size();
+        if (enemyKind.length < n) {
+            int capacity = Math.max(n, enemyKind.length * 2);
+            enemyKind = new int[capacity];
+            enemyX = new double[capacity];
+            enemyY = new double[capacity];
+            enemyPrevX = new double[capacity];
+            enemyPrevY = new double[capacity];
+            enemyShield = new double[capacity];
+            enemyMaxShield = new double[capacity];
+            enemySlowed = new boolean[capacity];
+        }
+        
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            enemyKind[count] = enemyKindOf(enemy);
+            enemyX[count] = enemy.getX();
+            enemyY[count] = enemy.getY();
+            enemyPrevX[count] = enemy.getPrevX();
+            enemyPrevY[count] = enemy.getPrevY();
+            enemyShield[count] = enemy.getShieldIntegrity();
+            enemyMaxShield[count] = enemy.getMaxShieldIntegrity();
+            enemySlowed[count] = enemy.hasSlowEffect();
+            count++;
+        }
+        enemyCount = count;
+    }
+    
+    /**
+     * Copy towers (called by GameEngine only).
+     */
+    void setTowers(List<Tower> towers) {
+        int n = towers.size();
+        if (towerKind.length < n) {
+            int capacity = Math.max(n, towerKind.length * 2);
+            towerKind = new int[capacity];
+            towerX = new double[capacity];
+            towerY = new double[capacity];
+            towerRange = new double[capacity];
+        }
+        
+        for (int i = 0; i < n; i++) {
+            Tower tower = towers.get(i);
+            towerKind[i] = towerKindOf(tower);
+            towerX[i] = tower.getX();
+            towerY[i] = tower.getY();
+            towerRange[i] = tower.getTargetingRange();
+        }
+        towerCount = n;
+    }
+}
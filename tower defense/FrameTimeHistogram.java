@@ -0,0 +1,90 @@
+/**
+ * Frame Time Histogram - fixed-bucket histogram of frame intervals (or any
+ * other durations). Recording is a single array increment (no allocation),
+ * so it can run on every frame; percentiles are read from the buckets.
+ *
+ * Not thread-safe: record and read from the render thread (or guard it).
+ */
+public class FrameTimeHistogram {
+    private static final long DEFAULT_BUCKET_NANOS = 50_000L; // 0.05 ms resolution
+    private static final int DEFAULT_BUCKETS = 2000;          // up to 100 ms, then overflow
+    
+    private final long bucketNanos;
+    private final int buckets;
+    private final long[] counts;
+    private long total;
+    private long sumNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+    
+    public FrameTimeHistogram() {
+        this(DEFAULT_BUCKET_NANOS, DEFAULT_BUCKETS);
+    }
+    
+    /**
+     * Histogram with the given resolution, covering buckets * bucketNanos
+     * before the overflow bucket.
+     */
+    public FrameTimeHistogram(long bucketNanos, int buckets) {
+        this.bucketNanos = bucketNanos;
+        this.buckets = buckets;
+        this.counts = new long[buckets + 1];
+    }
+    
+    public void record(long nanos) {
+        int bucket = (int) Math.min(buckets, Math.max(0, nanos / bucketNanos));
+        counts[bucket]++;
+        total++;
+        sumNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+    
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        total = 0;
+        sumNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+    
+    public long getCount() { return total; }
+    public double getMeanMillis() { return total > 0 ? sumNanos / 1e6 / total : 0.0; }
+    public double getMinMillis() { return total > 0 ? minNanos / 1e6 : 0.0; }
+    public double getMaxMillis() { return maxNanos / 1e6; }
+    
+    /**
+     * Upper edge of the bucket holding the given percentile (0-100), in ms.
+     */
+    public double getPercentileMillis(double percentile) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == buckets ? getMaxMillis() : (i + 1) * bucketNanos / 1e6;
+            }
+        }
+        return getMaxMillis();
+    }
+    
+    /**
+     * Frames per second implied by the mean interval.
+     */
+    public double getMeanFps() {
+        double mean = getMeanMillis();
+        return mean > 0 ? 1000.0 / mean : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("kare=%d ort=%.2fms (%.1f FPS) min=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f",
+                total, getMeanMillis(), getMeanFps(), getMinMillis(),
+                getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -1,9 +1,11 @@
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Game Engine - Simulation backend for the space colony defense game.
@@ -11,28 +13,80 @@ import java.util.Random;
  * wave management, and game state updates.
  */
 public class GameEngine {
+    /** Simulation tick rate shared by the GUI timer and headless runners. */
+    public static final double TICK_RATE = 60.0;
+    public static final double DELTA_TIME = 1.0 / TICK_RATE;
+    private static final int AIM_BATCH = 64; // towers per parallel aim task
+    private static final double MIN_EVENT_STEP = 1e-9; // an event a rounding error short of its time still moves on
+    
     private List<Enemy> enemies;
     private List<Tower> towers;
     private Path path;
+    private SpatialGrid spatialGrid; // Enemy positions for tower queries, rebuilt when first asked in a tick
+    private PathCoverageIndex coverageIndex; // Enemies by pathIndex for tower targeting (list mode)
+    private EnemyStore enemyStore; // Optional structure-of-arrays enemy state (null = off)
+    private final List<Enemy> towerHits = new ArrayList<>(); // Hit buffer reused by every Tower.fire call
+    private final TimerWheel timers = new TimerWheel(DELTA_TIME); // Tower wake-ups and status effect expiry
+    private final TimerWheel.Handler timerHandler = this::onTimer;
+    private final BitSet readyTowers = new BitSet(); // Towers whose cooldown has (nearly) run out, by index
+    private boolean pollTowers; // Checks only: every tower stays ready, as before the timer wheel
+    private boolean twoPhaseTowers; // Towers aim first (in parallel), then shots are applied in order
+    private int parallelAimThreshold = 256; // Ready towers from which aiming is split over the common pool
+    private int[] aimingTowers = new int[64]; // Indices of the towers aiming this tick
+    private final CoverageUnion groundCover = new CoverageUnion(); // Path the ready towers cover (nextEventDelay)
+    private final CoverageUnion flyingCover = new CoverageUnion();
     
     private int kaleSavunmasi; // OYUNCUNUN CANI (Firavun'un Kalesi)
     private int altinHazinesi; // PARA (Antik Mısır Altını)
     private int currentWave;
     private int totalWaves;
+    private SpawnSchedule spawnSchedule; // Enemies of the running wave still to come (null = none)
+    private List<WaveDefinition> customWaves; // null = the built-in random waves
     private boolean gameRunning;
     private boolean gameWon;
     private boolean gameLost;
     private double gameTime; // Game time in seconds
+    private long tickCount; // Number of update() calls since initializeGame
+    private int breachCount; // Enemies that reached the base this game
+    private long shotCount; // Tower shots that hit something this game
+    private long killCount; // Enemies destroyed by towers this game
+    
+    private final SnapshotBuffer snapshots = new SnapshotBuffer(); // Published once per tick for the renderer
+    private boolean snapshotPublishing = true; // Headless runs without a renderer turn this off
+    private boolean tickBatch; // Inside beginTickBatch/endTickBatch
+    private int batchTicks; // Ticks run or skipped in the current batch
     
-    private PrintWriter logWriter;
+    private GameLogger logger; // Asynchronous game log (null = logging off)
+    private ReplayRecorder replayRecorder; // Records player commands (null = off)
+    private final CombatEventBus combatEvents = new CombatEventBus(); // Typed events, published once per tick
+    private EngineMetrics metrics; // Per-phase tick timings for JMX (null = off)
+    private GameEvents.Wave waveEvent; // JFR span of the running wave (null = none)
+    private boolean waveCleared = true; // WAVE_END already published for the current wave
     
     // Encapsulation: private game state
-    private Random random;
+    private Random random; // Single RNG for the whole simulation, reseeded by initializeGame
+    private long seed;
     
     public GameEngine() {
+        this(true);
+    }
+    
+    /**
+     * Create an engine; headless runs pass false to skip the log file and console output.
+     */
+    public GameEngine(boolean loggingEnabled) {
+        this(loggingEnabled ? GameLogger.openDefault() : null);
+    }
+    
+    /**
+     * Create an engine that logs through the given logger (may be null).
+     */
+    public GameEngine(GameLogger logger) {
         enemies = new ArrayList<>();
         towers = new ArrayList<>();
         path = new Path();
+        spatialGrid = createSpatialGrid(path);
+        coverageIndex = new PathCoverageIndex(path);
         
         kaleSavunmasi = 150;
         altinHazinesi = 300;
@@ -42,18 +96,64 @@ public class GameEngine {
         gameWon = false;
         gameLost = false;
         gameTime = 0.0;
-        random = new Random();
-        
-        try {
-            logWriter = new PrintWriter(new FileWriter("savunma_gunlugu.txt", true));
-        } catch (IOException e) {
-            System.err.println("Kayıt dosyası oluşturulamadı: " + e.getMessage());
+        seed = randomSeed();
+        random = new Random(seed);
+        this.logger = logger;
+    }
+    
+    /**
+     * Build a grid covering the path plus the largest tower range around it.
+     */
+    private static SpatialGrid createSpatialGrid(Path path) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (Path.Point p : path.getWaypoints()) {
+            minX = Math.min(minX, p.x);
+            minY = Math.min(minY, p.y);
+            maxX = Math.max(maxX, p.x);
+            maxY = Math.max(maxY, p.y);
         }
+        double margin = 200.0; // CannonTower range
+        return new SpatialGrid(minX - margin, minY - margin, maxX + margin, maxY + margin, 64.0);
     }
     
     // Encapsulation: Getters
+    // getEnemies/getTowers copy the lists; renderers should use getSnapshot()
     public List<Enemy> getEnemies() { return new ArrayList<>(enemies); }
     public List<Tower> getTowers() { return new ArrayList<>(towers); }
+    public int getEnemyCount() { return enemies.size(); }
+    public boolean isEnemyStoreEnabled() { return enemyStore != null; }
+    
+    /**
+     * Switch the enemy hot loops to the structure-of-arrays EnemyStore.
+     * Enemies already on the field are copied into the store.
+     */
+    public void setEnemyStoreEnabled(boolean enabled) {
+        if (!enabled) {
+            if (enemyStore != null) {
+                // Hand running slows back to the timer wheel
+                for (int i = 0; i < enemies.size(); i++) {
+                    Enemy enemy = enemies.get(i);
+                    double remaining = enemy.getSlowEffectTimer();
+                    enemy.setStatusTimers(timers);
+                    if (remaining > 0) {
+                        enemy.applySlowEffect(remaining);
+                    }
+                }
+                coverageIndex.reset(enemies);
+            }
+            enemyStore = null;
+            return;
+        }
+        if (enemyStore == null) {
+            enemyStore = new EnemyStore();
+            for (Enemy enemy : enemies) {
+                enemyStore.add(enemy);
+                enemy.setStatusTimers(null); // the store counts slow timers itself
+            }
+            coverageIndex.clear(); // store towers search the store
+        }
+    }
     public Path getPath() { return path; }
     public int getPlayerShieldIntegrity() { return kaleSavunmasi; }
     public int getEnergyCore() { return altinHazinesi; }
@@ -63,11 +163,118 @@ public class GameEngine {
     public boolean isGameWon() { return gameWon; }
     public boolean isGameLost() { return gameLost; }
     public double getGameTime() { return gameTime; }
+    public long getTickCount() { return tickCount; }
+    public int getBreachCount() { return breachCount; }
+    public long getShotCount() { return shotCount; }
+    public long getKillCount() { return killCount; }
+    public long getSeed() { return seed; }
+    
+    /**
+     * Play the given waves instead of the built-in ones (null restores
+     * them). Call before initializeGame. Replays only record the seed, so
+     * they assume the built-in waves.
+     */
+    public void setWaves(List<WaveDefinition> waves) {
+        this.customWaves = waves != null ? new ArrayList<>(waves) : null;
+        this.totalWaves = waves != null ? waves.size() : 4;
+    }
+    
+    // Package-private: lets benchmarks place any number of towers
+    void setEnergyCore(int energyCore) { this.altinHazinesi = energyCore; }
+    
+    // Package-private: lets benchmarks and checks force serial or parallel aiming
+    void setParallelAimThreshold(int towers) { this.parallelAimThreshold = Math.max(1, towers); }
+    
+    // Package-private: lets checks visit every tower every tick instead of
+    // waking them from the timer wheel (the games must come out the same)
+    void setPollTowers(boolean poll) { this.pollTowers = poll; }
+    
+    public boolean isTwoPhaseTowers() { return twoPhaseTowers; }
+    
+    /**
+     * Resolve towers in two phases (list mode): every ready tower first aims
+     * at the enemies as they were at the start of the phase, then the shots
+     * are applied in tower order. Aiming only reads, so with many ready
+     * towers it runs in parallel, and the result is the same on any number
+     * of threads. A tower whose target was killed by a tower before it in
+     * the same tick aims again when its shot is applied, and splash or slow
+     * skips enemies already dead, so the game comes out the same as the
+     * one-by-one loop. Call before initializeGame.
+     */
+    public void setTwoPhaseTowers(boolean enabled) {
+        this.twoPhaseTowers = enabled;
+    }
+    
+    /**
+     * Seed used by the next initializeGame; the same seed and the same
+     * commands always replay the same game.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Fresh unpredictable seed for a new game.
+     */
+    public static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+    
+    /**
+     * Seed given with -Dtd.seed, or a random one without it. A value that is
+     * not a whole number throws IllegalArgumentException (message for the
+     * user) rather than quietly making the run unrepeatable.
+     */
+    public static long seedProperty() {
+        String seed = System.getProperty("td.seed");
+        if (seed == null) {
+            return randomSeed();
+        }
+        try {
+            return Long.parseLong(seed.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Geçersiz tohum: -Dtd.seed=" + seed + " (bir tam sayı olmalı, örn. -Dtd.seed=42)", e);
+        }
+    }
+    
+    /**
+     * Record initializeGame/startNextWave/placeTower calls (null to stop).
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.replayRecorder = recorder;
+    }
+    
+    /**
+     * Latest published frame snapshot, without copying any list.
+     * Must always be called from the same (single) reader thread,
+     * see SnapshotBuffer for the rules.
+     */
+    public FrameSnapshot getSnapshot() {
+        return snapshots.acquire();
+    }
+    
+    /**
+     * Typed combat events (spawn, hit, kill, breach, waves, towers) for
+     * subscribers such as sound, a kill feed or statistics.
+     */
+    public CombatEventBus getCombatEvents() {
+        return combatEvents;
+    }
+    
+    public void setSnapshotPublishing(boolean enabled) {
+        this.snapshotPublishing = enabled;
+    }
     
     /**
      * Initialize game at start.
      */
     public void initializeGame() {
+        if (replayRecorder != null) {
+            replayRecorder.newGame(tickCount, seed, enemyStore != null, twoPhaseTowers);
+        }
+        combatEvents.publish(tickCount); // flush the last game's events, pick up new subscribers
+        random.setSeed(seed);
         kaleSavunmasi = 150;
         altinHazinesi = 300;
         currentWave = 0;
@@ -75,13 +282,27 @@ public class GameEngine {
         gameWon = false;
         gameLost = false;
         gameTime = 0.0;
+        tickCount = 0;
+        breachCount = 0;
+        shotCount = 0;
+        killCount = 0;
+        waveEvent = null;
         enemies.clear();
         towers.clear();
+        spawnSchedule = null;
+        waveCleared = true;
+        timers.clear();
+        readyTowers.clear();
+        coverageIndex.clear();
+        if (enemyStore != null) {
+            enemyStore.clear();
+        }
         
         logMessage("=== Antik Mısır Kalesi Savunma Sistemleri Aktif ===");
         logMessage("İstilacı Ordusu Tespit Edildi - Savunma Moduna Geçildi");
         logMessage("Başlangıç Altın Hazinesi: " + altinHazinesi);
         logMessage("Başlangıç Kale Savunması: " + kaleSavunmasi);
+        publishSnapshot();
     }
     
     /**
@@ -96,171 +317,103 @@ public class GameEngine {
      * Start next wave.
      */
     public void startNextWave() {
+        if (replayRecorder != null) {
+            replayRecorder.startWave(tickCount);
+        }
+        beginNextWave();
+    }
+    
+    /**
+     * Start next wave without recording it (waves started by
+     * startNextWaveIfCleared are replayed by the driver loop itself).
+     */
+    private void beginNextWave() {
         if (currentWave >= totalWaves) {
             return;
         }
         
         currentWave++;
         logMessage("=== İstilacı Ordu Dalgası " + currentWave + " Tespit Edildi ===");
-        
-        if (currentWave == 1) {
-            // First wave: 2 Standard, 1 Armored, 1 Flying
-            createWave1();
-        } else if (currentWave == 2) {
-            // Second wave: 5-10 enemies, at least 1 of each type
-            createWave2();
-        } else if (currentWave == 3) {
-            // Third wave: 8-12 enemies, more armored
-            createWave3();
-        } else if (currentWave == 4) {
-            // Fourth wave: 10-15 enemies, mixed types
-            createWave4();
+        combatEvents.waveStart(gameTime, currentWave);
+        waveCleared = false;
+        waveEvent = GameEvents.beginWave(); // JFR (null = not recorded)
+        if (waveEvent != null) {
+            waveEvent.wave = currentWave;
+            waveEvent.kills = killCount; // counts at the start, turned into deltas on commit
+            waveEvent.breaches = breachCount;
         }
+        
+        WaveDefinition wave = customWaves != null
+                ? customWaves.get(currentWave - 1)
+                : WaveDefinition.standard(currentWave, random);
+        spawnSchedule = new SpawnSchedule(wave);
+        spawnDueEnemies(); // the first group starts right away
+        publishSnapshot();
     }
     
     /**
-     * Create wave 1 enemies.
+     * Start the next wave once the field is clear (called after every update).
+     * Returns true if a new wave was started.
      */
-    private void createWave1() {
-        // 2 Standard enemies
-        for (int i = 0; i < 2; i++) {
-            Enemy enemy = new StandardEnemy();
-            enemy.setPathIndex(0.0); // Explicitly set starting path index
-            enemy.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(enemy);
-            logMessage("Askari (Normal Asker) Oluşturuldu");
+    public boolean startNextWaveIfCleared() {
+        if (gameRunning && enemies.isEmpty() && spawnSchedule == null && currentWave < totalWaves) {
+            beginNextWave();
+            return true;
         }
-        
-        // 1 Armored enemy
-        Enemy armored = new ArmoredEnemy();
-        armored.setPathIndex(0.0); // Explicitly set starting path index
-        armored.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-        enemies.add(armored);
-        logMessage("Zırhlı Savaşçı Oluşturuldu (Zırh: " + armored.getArmorRating() + ")");
-        
-        // 1 Flying enemy
-        Enemy flying = new FlyingEnemy();
-        flying.setPathIndex(0.0); // Explicitly set starting path index
-        flying.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-        enemies.add(flying);
-        logMessage("Uçan Akbaba Oluşturuldu");
+        return false;
     }
     
     /**
-     * Create wave 2 enemies (5-10 enemies, at least 1 of each type).
+     * Spawn every enemy of the running wave that is due by now. An enemy
+     * that was due between ticks starts as far along the path as it would
+     * have walked since, so fast spawn rates don't stack up at the start.
      */
-    private void createWave2() {
-        int totalEnemies = 5 + random.nextInt(6); // 5-10 enemies
-        
-        // At least 1 of each type
-        Enemy standard = new StandardEnemy();
-        standard.setPathIndex(0.0);
-        standard.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-        enemies.add(standard);
-        logMessage("Standart Piyade Birimi Oluşturuldu");
-        
-        Enemy armored = new ArmoredEnemy();
-        armored.setPathIndex(0.0);
-        armored.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-        enemies.add(armored);
-        logMessage("Zırhlı Savaşçı Oluşturuldu (Zırh: " + armored.getArmorRating() + ")");
-        
-        Enemy flying = new FlyingEnemy();
-        flying.setPathIndex(0.0);
-        flying.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-        enemies.add(flying);
-        logMessage("Uçan Akbaba Oluşturuldu");
-        
-        // Add remaining enemies randomly
-        for (int i = 3; i < totalEnemies; i++) {
-            int type = random.nextInt(3);
-            Enemy enemy;
-            if (type == 0) {
-                enemy = new StandardEnemy();
-                logMessage("Askari (Normal Asker) Oluşturuldu");
-            } else if (type == 1) {
-                enemy = new ArmoredEnemy();
-                logMessage("Zırhlı Piyade Birimi Oluşturuldu (Zırh: " + enemy.getArmorRating() + ")");
-            } else {
-                enemy = new FlyingEnemy();
-                logMessage("Uçan Akbaba Oluşturuldu");
-            }
-            enemy.setPathIndex(0.0);
-            enemy.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(enemy);
+    private void spawnDueEnemies() {
+        SpawnSchedule schedule = spawnSchedule;
+        while (schedule.hasDue()) {
+            double lateness = schedule.getLateness();
+            Enemy enemy = createEnemy(schedule.next(random));
+            spawnEnemy(enemy, enemy.getVelocity() * 2.0 * lateness / 50.0); // same units as updateEnemies
+        }
+        if (schedule.isFinished()) {
+            spawnSchedule = null;
         }
     }
     
     /**
-     * Create wave 3 enemies (6-9 enemies, more armored units).
+     * Create (and log) one enemy of the given FrameSnapshot kind.
      */
-    private void createWave3() {
-        int totalEnemies = 6 + random.nextInt(4); // 6-9 enemies
-        
-        // At least 2 of each type
-        for (int i = 0; i < 2; i++) {
-            Enemy standard = new StandardEnemy();
-            standard.setPathIndex(0.0);
-            standard.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(standard);
-            logMessage("Standart Piyade Birimi Oluşturuldu");
-            
-            Enemy armored = new ArmoredEnemy();
-            armored.setPathIndex(0.0);
-            armored.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(armored);
-            logMessage("Zırhlı Savaşçı Oluşturuldu (Zırh: " + armored.getArmorRating() + ")");
-            
-            Enemy flying = new FlyingEnemy();
-            flying.setPathIndex(0.0);
-            flying.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(flying);
-            logMessage("Uçan Akbaba Oluşturuldu");
+    private Enemy createEnemy(int kind) {
+        if (kind == FrameSnapshot.ARMORED) {
+            Enemy armored = new ArmoredEnemy(random);
+            logSpawn("Zırhlı Savaşçı Oluşturuldu", armored.getArmorRating());
+            return armored;
         }
-        
-        // Add remaining enemies, favor armored (40% chance)
-        for (int i = 6; i < totalEnemies; i++) {
-            int type = random.nextInt(10);
-            Enemy enemy;
-            if (type < 4) {
-                enemy = new ArmoredEnemy();
-                logMessage("Zırhlı Piyade Birimi Oluşturuldu (Zırh: " + enemy.getArmorRating() + ")");
-            } else if (type < 7) {
-                enemy = new StandardEnemy();
-                logMessage("Askari (Normal Asker) Oluşturuldu");
-            } else {
-                enemy = new FlyingEnemy();
-                logMessage("Uçan Akbaba Oluşturuldu");
-            }
-            enemy.setPathIndex(0.0);
-            enemy.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(enemy);
+        if (kind == FrameSnapshot.FLYING) {
+            logSpawn("Uçan Akbaba Oluşturuldu");
+            return new FlyingEnemy();
         }
+        logSpawn("Askari (Normal Asker) Oluşturuldu");
+        return new StandardEnemy();
     }
     
     /**
-     * Create wave 4 enemies (8-12 enemies, final boss wave).
+     * Put a new enemy at pathIndex (package-private: benchmarks fill the
+     * field with this).
      */
-    private void createWave4() {
-        int totalEnemies = 8 + random.nextInt(5); // 8-12 enemies
-        
-        // Mix of all types
-        for (int i = 0; i < totalEnemies; i++) {
-            int type = random.nextInt(10);
-            Enemy enemy;
-            if (type < 3) {
-                enemy = new StandardEnemy();
-                logMessage("Askari (Normal Asker) Oluşturuldu");
-            } else if (type < 6) {
-                enemy = new ArmoredEnemy();
-                logMessage("Zırhlı Savaşçı Oluşturuldu (Zırh: " + enemy.getArmorRating() + ")");
-            } else {
-                enemy = new FlyingEnemy();
-                logMessage("Uçan Akbaba Oluşturuldu");
-            }
-            enemy.setPathIndex(0.0);
-            enemy.setPosition(path.getWaypoint(0).x, path.getWaypoint(0).y);
-            enemies.add(enemy);
+    void spawnEnemy(Enemy enemy, double pathIndex) {
+        enemy.setPathIndex(pathIndex);
+        enemy.setPosition(path.getX(pathIndex), path.getY(pathIndex));
+        enemy.capturePreviousPosition(); // don't interpolate from (0, 0)
+        enemy.setStatusTimers(enemyStore == null ? timers : null);
+        enemies.add(enemy);
+        if (enemyStore == null) {
+            coverageIndex.add(enemy);
+        }
+        combatEvents.spawn(gameTime, FrameSnapshot.enemyKindOf(enemy), enemy.getArmorRating(),
+                enemy.getX(), enemy.getY());
+        if (enemyStore != null) {
+            enemyStore.add(enemy);
         }
     }
     
@@ -272,52 +425,382 @@ public class GameEngine {
             return;
         }
         
+        EngineMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.begin();
+        }
+        GameEvents.Tick tickEvent = GameEvents.beginTick(); // JFR (null = not recorded)
+        
         gameTime += deltaTime;
+        tickCount++;
+        
+        // Wake towers whose cooldown ends and expire slows due this tick
+        timers.advanceTo(timers.tickOf(gameTime), timerHandler);
+        
+        // Renderers interpolate from the positions at the start of the tick (or batch)
+        capturePreviousPositions();
         
         // Update enemies
+        if (metrics != null) {
+            metrics.mark();
+        }
         updateEnemies(deltaTime);
+        if (metrics != null) {
+            metrics.lap(EngineMetrics.UPDATE_ENEMIES);
+        }
+        
+        // Bring in the next enemies of the wave
+        if (spawnSchedule != null) {
+            spawnSchedule.advance(deltaTime);
+            spawnDueEnemies();
+        }
+        
+        // Index new enemy positions for tower range queries
+        if (enemyStore == null) {
+            spatialGrid.invalidate(enemies);
+            coverageIndex.rebuild();
+        }
         
         // Update towers
+        if (metrics != null) {
+            metrics.mark();
+        }
         updateTowers(deltaTime);
+        if (metrics != null) {
+            metrics.lap(EngineMetrics.UPDATE_TOWERS);
+        }
         
         // Remove dead enemies
         removeDeadEnemies();
+        if (metrics != null) {
+            metrics.lap(EngineMetrics.REMOVE_DEAD_ENEMIES);
+        }
+        
+        if (!waveCleared && spawnSchedule == null && enemies.isEmpty()) {
+            waveCleared = true;
+            combatEvents.waveEnd(gameTime, currentWave);
+            commitWaveEvent(true);
+        }
         
         // Check win/lose conditions
+        if (metrics != null) {
+            metrics.mark();
+        }
         checkGameState();
+        if (metrics != null) {
+            metrics.lap(EngineMetrics.CHECK_GAME_STATE);
+        }
+        
+        // Hand the new state to the renderer and the tick's events to subscribers
+        if (!tickBatch) {
+            publishSnapshot();
+        }
+        combatEvents.publish(tickCount);
+        
+        if (metrics != null) {
+            metrics.endTick(enemies.size(), towers.size(), shotCount, killCount, breachCount);
+        }
+        if (tickEvent != null && tickEvent.shouldCommit()) {
+            tickEvent.tick = tickCount;
+            tickEvent.wave = currentWave;
+            tickEvent.enemies = enemies.size();
+            tickEvent.towers = towers.size();
+            tickEvent.commit();
+        }
+    }
+    
+    /**
+     * Seconds of game time until the next tick that does more than move
+     * enemies along the path: a spawn, a tower cooldown running out, an
+     * enemy reaching the path a ready tower covers, a slow ending or an
+     * enemy reaching the base. 0 if that may be the very next tick,
+     * infinity if nothing is pending. List mode only (0 with the store).
+     */
+    public double nextEventDelay() {
+        return nextEventDelay(0.0);
+    }
+    
+    /**
+     * Event-driven step for headless balance runs: one update that goes
+     * straight to the next event (nextEventDelay), at most maxSeconds on.
+     * Enemies move over the whole gap at once, and spawns, cooldowns,
+     * slows and breaches happen at their own time instead of on the next
+     * tick, so a seed plays out close to the fixed-step game but not
+     * exactly like it. An enemy on the path a ready tower covers but not
+     * in range yet is looked at again DELTA_TIME later. Returns the game
+     * time advanced. List mode only: with the store every step is a tick.
+     */
+    public double updateToNextEvent(double maxSeconds) {
+        double delay = nextEventDelay();
+        if (delay <= 0.0 || enemyStore != null) {
+            delay = DELTA_TIME;
+        }
+        delay = Math.min(Math.max(delay, MIN_EVENT_STEP), maxSeconds);
+        update(delay);
+        return delay;
+    }
+    
+    /**
+     * Ticks from now that nextEventDelay says are pure movement and can be
+     * handed to skipTicks; the tick before the event is left to update, so
+     * float noise in the event times never moves an event.
+     */
+    public int getIdleTicks() {
+        double limit = 2 * DELTA_TIME;
+        double delay = nextEventDelay(limit);
+        if (delay <= limit) {
+            return 0; // the scan may have stopped early: an enemy not looked at could come sooner
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.floor(delay / DELTA_TIME) - 1);
+    }
+    
+    // Stops looking once an event is within limit (the result is then only an upper bound)
+    private double nextEventDelay(double limit) {
+        if (!gameRunning || enemyStore != null || (enemies.isEmpty() && spawnSchedule == null)) {
+            return 0.0; // wave or game over: next update decides
+        }
+        double next = spawnSchedule != null ? spawnSchedule.getTimeUntilNext() : Double.POSITIVE_INFINITY;
+        // The path the ready towers cover, merged: one search per enemy, not one per tower
+        groundCover.clear();
+        flyingCover.clear();
+        boolean anyReady = false;
+        for (int t = 0; t < towers.size(); t++) {
+            Tower tower = towers.get(t);
+            if (!tower.isActive()) {
+                continue;
+            }
+            if (!tower.canFire(gameTime)) {
+                next = Math.min(next, delayUntil(tower.getReadyTime()));
+            } else {
+                anyReady = true;
+                groundCover.add(tower.getCoverage());
+                if (tower.targetsFlying()) {
+                    flyingCover.add(tower.getCoverage());
+                }
+            }
+        }
+        if (anyReady) {
+            groundCover.build();
+            flyingCover.build();
+        }
+        
+        double baseIndex = path.getLength() - 1.0;
+        for (int i = 0; i < enemies.size() && next > limit; i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            if (enemy.hasSlowEffect()) {
+                next = Math.min(next, enemy.getSlowEffectTimer());
+            }
+            double rate = enemy.getVelocity() * 2.0 / 50.0; // pathIndex per second, as in updateEnemies
+            if (rate > 0) {
+                next = Math.min(next, (baseIndex - enemy.getPathIndex()) / rate);
+            }
+            if (anyReady) {
+                CoverageUnion cover = enemy.isFlying() ? flyingCover : groundCover;
+                next = Math.min(next, cover.timeUntilCovered(enemy.getPathIndex(), rate));
+            }
+        }
+        return Math.max(0.0, next);
+    }
+    
+    // Delay that brings gameTime to at least time (gameTime + delay may round down)
+    private double delayUntil(double time) {
+        double delay = time - gameTime;
+        while (gameTime + delay < time) {
+            delay = Math.nextUp(delay);
+        }
+        return delay;
+    }
+    
+    /**
+     * Advance the given number of ticks in which nothing but enemy movement
+     * happens (see getIdleTicks) without running update: enemies walk, the
+     * clocks and the spawn schedule move on, nothing is checked, logged or
+     * published. Enemies take the same per-tick steps updateEnemies would,
+     * so the next update sees exactly the state the fixed-step engine has:
+     * this is for the interactive loop's tick batches, which replays must
+     * match bit for bit (headless runs use updateToNextEvent). List mode only.
+     */
+    public void skipTicks(int ticks) {
+        if (ticks <= 0 || !gameRunning || enemyStore != null) {
+            return;
+        }
+        capturePreviousPositions();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            double pixelsPerSecond = enemy.getVelocity() * 2.0;
+            double step = pixelsPerSecond * DELTA_TIME / 50.0;
+            double pathIndex = enemy.getPathIndex();
+            for (int t = 0; t < ticks; t++) {
+                pathIndex += step; // repeated, not multiplied: bit-identical to ticking
+            }
+            enemy.setPathIndex(pathIndex);
+            enemy.setPosition(path.getX(pathIndex), path.getY(pathIndex));
+        }
+        for (int t = 0; t < ticks; t++) {
+            gameTime += DELTA_TIME;
+            if (spawnSchedule != null) {
+                spawnSchedule.advance(DELTA_TIME);
+            }
+        }
+        tickCount += ticks;
+        timers.advanceTo(timers.tickOf(gameTime), timerHandler);
+    }
+    
+    /**
+     * The ticks until endTickBatch run back to back in one frame (a time
+     * scale above 1x): the first captures the positions renderers
+     * interpolate from, and a single snapshot is published at the end
+     * instead of one per tick.
+     */
+    public void beginTickBatch() {
+        tickBatch = true;
+        batchTicks = 0;
+    }
+    
+    /**
+     * Close the batch and publish its result (if it ran any ticks).
+     */
+    public void endTickBatch() {
+        tickBatch = false;
+        if (batchTicks > 0) {
+            batchTicks = 0;
+            publishSnapshot();
+        }
+    }
+    
+    // Once per tick, or once per batch
+    private void capturePreviousPositions() {
+        if (tickBatch && batchTicks++ > 0) {
+            return;
+        }
+        if (snapshotPublishing) {
+            for (int i = 0; i < enemies.size(); i++) {
+                enemies.get(i).capturePreviousPosition();
+            }
+        }
+    }
+    
+    /**
+     * Close the running wave's JFR event (cleared, or cut short by the game ending).
+     */
+    private void commitWaveEvent(boolean cleared) {
+        GameEvents.Wave event = waveEvent;
+        waveEvent = null;
+        if (event != null && event.shouldCommit()) {
+            event.cleared = cleared;
+            event.kills = killCount - event.kills;
+            event.breaches = breachCount - event.breaches;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Time the phases of update() and register the EngineMetrics MBean
+     * (TowerDefense:type=EngineMetrics) for JConsole and other JMX clients.
+     */
+    public EngineMetrics enableMetrics() {
+        if (metrics == null) {
+            EngineMetrics created = new EngineMetrics(logger);
+            created.register();
+            metrics = created;
+        }
+        return metrics;
+    }
+    
+    public EngineMetrics getMetrics() { return metrics; }
+    
+    /**
+     * Fill the back snapshot with the current state and publish it.
+     */
+    private void publishSnapshot() {
+        if (!snapshotPublishing) {
+            return;
+        }
+        FrameSnapshot snapshot = snapshots.getBack();
+        snapshot.setState(tickCount, gameTime, kaleSavunmasi, altinHazinesi, currentWave,
+                totalWaves, gameRunning, gameWon, gameLost);
+        snapshot.setEnemies(enemies);
+        snapshot.setTowers(towers);
+        snapshots.publish();
     }
     
     /**
      * Update enemy positions and slow effects.
      */
     private void updateEnemies(double deltaTime) {
-        for (Enemy enemy : enemies) {
+        if (enemyStore != null) {
+            updateEnemyStore(deltaTime);
+            return;
+        }
+        
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
             // Skip dead enemies - they cannot move or deal damage
             if (!enemy.isAlive()) {
                 continue;
             }
             
-            // Update slow effect
-            enemy.updateSlowEffect(deltaTime);
+            // (Slow effects expire through the timer wheel)
             
-            // Move enemy along path
+            // Move enemy along path (pathIndex is arc-length based, so speed is constant)
             double velocity = enemy.getVelocity();
             double pixelsPerSecond = velocity * 2.0; // Convert to pixels per second
             
             double newPathIndex = enemy.getPathIndex() + (pixelsPerSecond * deltaTime / 50.0);
             enemy.setPathIndex(newPathIndex);
             
-            // Update position
-            Path.Point pos = path.getPosition(newPathIndex);
-            enemy.setPosition(pos.x, pos.y);
+            // Update position (table lookup, no allocation)
+            enemy.setPosition(path.getX(newPathIndex), path.getY(newPathIndex));
             
             // Check if enemy reached base (only if still alive)
             // Make sure enemy has actually moved along the path (pathIndex >= 0.1) before checking
             if (enemy.isAlive() && enemy.getPathIndex() >= 0.1 && enemy.reachedBase(path.getLength())) {
                 // Enemy reached base - damage player
                 kaleSavunmasi -= enemy.getBaseDamage();
+                breachCount++;
                 enemy.setAlive(false);
-                logMessage(enemy.getEnemyType() + " kaleye ulaştı! Kale Savunması: " + kaleSavunmasi);
+                if (logger != null) {
+                    logger.breach(gameTime, enemy.getEnemyType(), kaleSavunmasi);
+                }
+                combatEvents.breach(gameTime, FrameSnapshot.enemyKindOf(enemy), Math.max(0, kaleSavunmasi));
+                
+                if (kaleSavunmasi <= 0) {
+                    kaleSavunmasi = 0;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Store version of updateEnemies: same movement over the primitive arrays.
+     */
+    private void updateEnemyStore(double deltaTime) {
+        EnemyStore store = enemyStore;
+        store.advance(deltaTime);
+        
+        double baseIndex = path.getLength() - 1.0;
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.isAlive(i)) {
+                continue;
+            }
+            double pathIndex = store.getPathIndex(i);
+            store.setPosition(i, path.getX(pathIndex), path.getY(pathIndex));
+            
+            if (store.getPathIndex(i) >= 0.1 && store.getPathIndex(i) >= baseIndex) {
+                Enemy enemy = store.getHandle(i);
+                kaleSavunmasi -= enemy.getBaseDamage();
+                breachCount++;
+                store.kill(i);
+                if (logger != null) {
+                    logger.breach(gameTime, enemy.getEnemyType(), kaleSavunmasi);
+                }
+                combatEvents.breach(gameTime, FrameSnapshot.enemyKindOf(enemy), Math.max(0, kaleSavunmasi));
                 
                 if (kaleSavunmasi <= 0) {
                     kaleSavunmasi = 0;
@@ -330,25 +813,226 @@ public class GameEngine {
      * Update tower firing.
      */
     private void updateTowers(double deltaTime) {
-        for (Tower tower : towers) {
-            if (!tower.isActive()) {
+        if (enemyStore != null) {
+            updateTowersStore();
+            return;
+        }
+        if (twoPhaseTowers) {
+            updateTowersTwoPhase();
+            return;
+        }
+        
+        // Towers on cooldown are not even visited; the timer wheel wakes them
+        for (int t = readyTowers.nextSetBit(0); t >= 0; t = readyTowers.nextSetBit(t + 1)) {
+            Tower tower = towers.get(t);
+            if (!tower.isActive() || !tower.canFire(gameTime)) {
                 continue;
             }
             
             // Fire at enemies (towers only target alive enemies)
-            List<Enemy> hitEnemies = tower.fire(enemies, gameTime);
+            GameEvents.TowerVolley volley = GameEvents.beginTowerVolley(); // JFR (null = not recorded)
+            towerHits.clear();
+            int hits = tower.fire(enemies, gameTime, towerHits);
+            if (!tower.canFire(gameTime)) {
+                scheduleTower(t, tower); // fired: sleep until the cooldown ends
+            }
+            if (hits > 0) {
+                shotCount++;
+                commitVolley(volley, tower, hits);
+            }
+            reportHits(tower, hits);
+        }
+    }
+    
+    /**
+     * Two-phase version of updateTowers (see setTwoPhaseTowers).
+     */
+    private void updateTowersTwoPhase() {
+        int count = 0;
+        for (int t = readyTowers.nextSetBit(0); t >= 0; t = readyTowers.nextSetBit(t + 1)) {
+            Tower tower = towers.get(t);
+            if (!tower.isActive() || !tower.canFire(gameTime)) {
+                continue;
+            }
+            if (count == aimingTowers.length) {
+                aimingTowers = Arrays.copyOf(aimingTowers, count * 2);
+            }
+            aimingTowers[count++] = t;
+        }
+        
+        // Phase 1: every tower plans its shot against the same enemy state
+        if (count >= parallelAimThreshold) {
+            spatialGrid.rebuildIfStale(); // not from the pool's threads
+            ForkJoinPool.commonPool().invoke(new AimTask(0, count));
+        } else {
+            aimTowers(0, count);
+        }
+        
+        // Phase 2: apply the plans in tower order
+        for (int i = 0; i < count; i++) {
+            int t = aimingTowers[i];
+            Tower tower = towers.get(t);
+            ShotPlan plan = tower.getShotPlan();
+            if (plan.size() > 0 && !plan.getTarget(0).isAlive()) {
+                // Overkill: a tower before this one killed its target this
+                // tick. Aim again at what is left; this loop is serial, so the
+                // new plan is the same on any number of threads
+                tower.aim(enemies, gameTime, plan);
+            }
+            if (plan.size() == 0) {
+                continue;
+            }
+            GameEvents.TowerVolley volley = GameEvents.beginTowerVolley(); // JFR (null = not recorded)
+            towerHits.clear();
+            int hits = tower.applyShot(plan, gameTime, towerHits);
+            if (hits == 0) {
+                continue;
+            }
+            scheduleTower(t, tower);
+            shotCount++;
+            commitVolley(volley, tower, hits);
+            reportHits(tower, hits);
+        }
+    }
+    
+    private void aimTowers(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Tower tower = towers.get(aimingTowers[i]);
+            tower.aim(enemies, gameTime, tower.getShotPlan());
+        }
+    }
+    
+    /**
+     * Phase 1 of updateTowersTwoPhase over a range of aimingTowers.
+     */
+    private final class AimTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        AimTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= AIM_BATCH) {
+                aimTowers(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AimTask(from, mid), new AimTask(mid, to));
+        }
+    }
+    
+    /**
+     * Log and publish the hits of one tower's shot (in towerHits).
+     */
+    private void reportHits(Tower tower, int hits) {
+        if (logger == null && !combatEvents.isRecording()) {
+            return;
+        }
+        int towerKind = FrameSnapshot.towerKindOf(tower);
+        for (int h = 0; h < hits; h++) {
+            Enemy hit = towerHits.get(h);
+            int enemyKind = FrameSnapshot.enemyKindOf(hit);
+            if (logger != null) {
+                logger.hit(gameTime, tower.getTowerType(), hit.getEnemyType(), hit.getShieldIntegrity());
+            }
+            combatEvents.hit(gameTime, towerKind, enemyKind, hit.getShieldIntegrity(), hit.getX(), hit.getY());
+            
+            if (!hit.isAlive()) {
+                if (logger != null) {
+                    logger.kill(gameTime, hit.getEnemyType(), hit.getRewardEnergy());
+                }
+                combatEvents.kill(gameTime, towerKind, enemyKind, hit.getRewardEnergy(), hit.getX(), hit.getY());
+            }
+        }
+    }
+    
+    private void commitVolley(GameEvents.TowerVolley volley, Tower tower, int hits) {
+        if (volley != null && volley.shouldCommit()) {
+            volley.towerType = tower.getTowerType();
+            volley.hits = hits;
+            if (enemyStore != null) {
+                double damage = 0.0;
+                for (int h = 0; h < hits; h++) {
+                    damage += enemyStore.getHitDamage(h);
+                }
+                volley.damage = damage;
+            } else {
+                volley.damage = tower.getLastShotDamage();
+            }
+            volley.commit();
+        }
+    }
+    
+    /**
+     * Put a tower to sleep until its cooldown ends, or mark it ready if it
+     * already has. Wakes one tick early: gameTime is a sum of deltas and not
+     * exact, and a late wake-up would change when the tower fires.
+     */
+    private void scheduleTower(int index, Tower tower) {
+        long wake = timers.tickOf(tower.getReadyTime()) - 1;
+        if (pollTowers || wake <= timers.getNow()) {
+            readyTowers.set(index);
+        } else {
+            readyTowers.clear(index);
+            timers.schedule(wake, TimerWheel.TOWER_READY, null, index);
+        }
+    }
+    
+    private void onTimer(int kind, Object target, int data) {
+        if (kind == TimerWheel.TOWER_READY) {
+            readyTowers.set(data);
+        } else if (kind == TimerWheel.SLOW_EXPIRY) {
+            ((Enemy) target).expireSlowEffect(data);
+        }
+    }
+    
+    /**
+     * Store version of updateTowers: towers fire at store slots.
+     */
+    private void updateTowersStore() {
+        EnemyStore store = enemyStore;
+        for (int t = readyTowers.nextSetBit(0); t >= 0; t = readyTowers.nextSetBit(t + 1)) {
+            Tower tower = towers.get(t);
+            if (!tower.isActive() || !tower.canFire(gameTime)) {
+                continue;
+            }
             
-            if (!hitEnemies.isEmpty()) {
-                for (Enemy hit : hitEnemies) {
-                    // Only log if enemy was actually hit and is still alive or just died
-                    if (hit != null) {
-                        logMessage(tower.getTowerType() + " -> " + hit.getEnemyType() + " hasar verdi (Can: " + 
-                                  String.format("%.1f", hit.getShieldIntegrity()) + ")");
-                        
-                        if (!hit.isAlive()) {
-                            logMessage(hit.getEnemyType() + " yok edildi! Altın Kazancı: " + hit.getRewardEnergy());
-                        }
+            GameEvents.TowerVolley volley = GameEvents.beginTowerVolley();
+            store.clearHits();
+            int hits = tower.fire(store, gameTime);
+            if (!tower.canFire(gameTime)) {
+                scheduleTower(t, tower);
+            }
+            if (hits > 0) {
+                shotCount++;
+                commitVolley(volley, tower, hits);
+            }
+            if (logger == null && !combatEvents.isRecording()) {
+                continue;
+            }
+            int towerKind = FrameSnapshot.towerKindOf(tower);
+            for (int h = 0; h < hits; h++) {
+                int slot = store.getHitSlot(h);
+                Enemy hit = store.getHandle(slot);
+                int enemyKind = FrameSnapshot.enemyKindOf(hit);
+                if (logger != null) {
+                    logger.hit(gameTime, tower.getTowerType(), hit.getEnemyType(), store.getShieldIntegrity(slot));
+                }
+                combatEvents.hit(gameTime, towerKind, enemyKind, store.getShieldIntegrity(slot),
+                        store.getX(slot), store.getY(slot));
+                
+                if (!store.isAlive(slot)) {
+                    if (logger != null) {
+                        logger.kill(gameTime, hit.getEnemyType(), hit.getRewardEnergy());
                     }
+                    combatEvents.kill(gameTime, towerKind, enemyKind, hit.getRewardEnergy(),
+                            store.getX(slot), store.getY(slot));
                 }
             }
         }
@@ -357,21 +1041,66 @@ public class GameEngine {
     /**
      * Remove dead enemies and award energy.
      */
-    private void removeDeadEnemies() {
-        List<Enemy> toRemove = new ArrayList<>();
+    void removeDeadEnemies() {
+        if (enemyStore != null) {
+            compactEnemyStore();
+            return;
+        }
         
-        for (Enemy enemy : enemies) {
-            if (!enemy.isAlive()) {
-                // Award energy if enemy was killed (not reached base)
-                if (enemy.getShieldIntegrity() <= 0 && !enemy.reachedBase(path.getLength())) {
-                    altinHazinesi += enemy.getRewardEnergy();
-                    logMessage("Altın Hazinesi: " + altinHazinesi + " (+" + enemy.getRewardEnergy() + ")");
+        // Compact in place (keeps the order, no temporary list)
+        int alive = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isAlive()) {
+                enemies.set(alive++, enemy);
+                continue;
+            }
+            // Award energy if enemy was killed (not reached base)
+            if (enemy.getShieldIntegrity() <= 0 && !enemy.reachedBase(path.getLength())) {
+                killCount++;
+                altinHazinesi += enemy.getRewardEnergy();
+                if (logger != null) {
+                    logger.reward(gameTime, altinHazinesi, enemy.getRewardEnergy());
                 }
-                toRemove.add(enemy);
             }
         }
+        while (enemies.size() > alive) {
+            enemies.remove(enemies.size() - 1);
+        }
+    }
+    
+    /**
+     * Store version of removeDeadEnemies: one pass that awards energy,
+     * swap-removes dead slots and writes live slots back to their handles.
+     */
+    private void compactEnemyStore() {
+        EnemyStore store = enemyStore;
+        double baseIndex = path.getLength() - 1.0;
+        int i = 0;
+        while (i < store.size()) {
+            if (store.isAlive(i)) {
+                store.syncHandle(i);
+                i++;
+                continue;
+            }
+            // Award energy if enemy was killed (not reached base)
+            if (store.getShieldIntegrity(i) <= 0 && store.getPathIndex(i) < baseIndex) {
+                int reward = store.getHandle(i).getRewardEnergy();
+                killCount++;
+                altinHazinesi += reward;
+                if (logger != null) {
+                    logger.reward(gameTime, altinHazinesi, reward);
+                }
+            }
+            store.syncHandle(i);
+            store.swapRemove(i); // last slot moves into i and is checked next
+        }
         
-        enemies.removeAll(toRemove);
+        // Keep the object list (GUI, getEnemies) in step with the store
+        enemies.clear();
+        for (int s = 0; s < store.size(); s++) {
+            enemies.add(store.getHandle(s));
+        }
     }
     
     /**
@@ -382,13 +1111,14 @@ public class GameEngine {
         if (kaleSavunmasi <= 0) {
             gameRunning = false;
             gameLost = true;
+            commitWaveEvent(false);
             logMessage("=== KAYBETTINIZ ===");
             logMessage("Kale Savunması tükendi. Firavun'un kalesi işgal edildi!");
             return;
         }
         
-        // Check win condition: all waves completed and no enemies left
-        if (currentWave >= totalWaves && enemies.isEmpty()) {
+        // Check win condition: all waves completed and no enemies left or still to come
+        if (currentWave >= totalWaves && enemies.isEmpty() && spawnSchedule == null) {
             gameRunning = false;
             gameWon = true;
             logMessage("=== KAZANDINIZ ===");
@@ -400,35 +1130,71 @@ public class GameEngine {
      * Place tower at position.
      */
     public boolean placeTower(Tower tower) {
+        if (replayRecorder != null) {
+            replayRecorder.placeTower(tickCount, tower);
+        }
         if (altinHazinesi >= tower.getEnergyCost()) {
             altinHazinesi -= tower.getEnergyCost();
+            tower.setSpatialGrid(spatialGrid);
+            tower.setCoverageIndex(coverageIndex);
             towers.add(tower);
-            logMessage(tower.getTowerType() + " yerleştirildi. Maliyet: " + tower.getEnergyCost() + 
-                      ", Kalan Altın: " + altinHazinesi);
+            scheduleTower(towers.size() - 1, tower);
+            if (logger != null) {
+                logger.towerPlaced(gameTime, tower.getTowerType(), tower.getEnergyCost(), altinHazinesi);
+            }
+            combatEvents.towerPlaced(gameTime, FrameSnapshot.towerKindOf(tower), tower.getEnergyCost(),
+                    tower.getX(), tower.getY());
+            publishSnapshot();
             return true;
         } else {
-            logMessage("Yetersiz altın! Gerekli: " + tower.getEnergyCost() + ", Mevcut: " + altinHazinesi);
+            if (logger != null) {
+                logger.notEnoughGold(gameTime, tower.getEnergyCost(), altinHazinesi);
+            }
             return false;
         }
     }
     
     /**
-     * Log message to file.
+     * Log message (queued for the background log writer).
      */
     private void logMessage(String message) {
-        if (logWriter != null) {
-            logWriter.println("[" + String.format("%.2f", gameTime) + "s] " + message);
-            logWriter.flush();
+        if (logger != null) {
+            logger.text(gameTime, message);
+        }
+    }
+    
+    /**
+     * Log an enemy spawn without building the message on the tick thread.
+     */
+    private void logSpawn(String label) {
+        if (logger != null) {
+            logger.spawn(gameTime, label);
+        }
+    }
+    
+    private void logSpawn(String label, int armorRating) {
+        if (logger != null) {
+            logger.spawn(gameTime, label, armorRating);
         }
-        System.out.println("[LOG] " + message);
     }
     
+    public GameLogger getLogger() { return logger; }
+    
     /**
-     * Close log file.
+     * Finish the replay, complete event subscriptions, drain queued log
+     * records and close the log file.
      */
     public void close() {
-        if (logWriter != null) {
-            logWriter.close();
+        if (replayRecorder != null) {
+            replayRecorder.finish(tickCount, kaleSavunmasi, altinHazinesi, currentWave, breachCount);
+            replayRecorder = null;
+        }
+        combatEvents.close();
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        if (logger != null) {
+            logger.close();
         }
     }
 }
@@ -0,0 +1,202 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Game Events - Java Flight Recorder event types of the game, so a
+ * recording shows ticks, tower volleys, waves and frames on the same
+ * timeline as GC, JIT and thread activity in JDK Mission Control.
+ *
+ * Record with e.g.
+ *   java -XX:StartFlightRecording=filename=oyun.jfr SpaceColonyDefense
+ * At 60 ticks per second and a few volleys per tick the events add little
+ * to a continuous recording; headless runs at full speed should not be
+ * recorded with them on.
+ *
+ * Events are only created while a recording has them enabled (the
+ * begin* methods return null otherwise), so the simulation and paint
+ * loops allocate nothing for them when JFR is not recording. Until a
+ * recording starts, the game does not even load an event class: that
+ * initialises JFR, a few hundred milliseconds of hitch mid-game.
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Tower Defense";
+    
+    // Loaded on first use after JFR is up
+    private static final class Types {
+        static final EventType TICK = EventType.getEventType(Tick.class);
+        static final EventType TOWER_VOLLEY = EventType.getEventType(TowerVolley.class);
+        static final EventType WAVE = EventType.getEventType(Wave.class);
+        static final EventType PAINT = EventType.getEventType(Paint.class);
+    }
+    
+    private GameEvents() {
+    }
+    
+    /**
+     * A started Tick event, or null when no recording wants it.
+     */
+    public static Tick beginTick() {
+        if (!FlightRecorder.isInitialized() || !Types.TICK.isEnabled()) {
+            return null;
+        }
+        Tick event = new Tick();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * A started TowerVolley event, or null when no recording wants it.
+     */
+    public static TowerVolley beginTowerVolley() {
+        if (!FlightRecorder.isInitialized() || !Types.TOWER_VOLLEY.isEnabled()) {
+            return null;
+        }
+        TowerVolley event = new TowerVolley();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * A started Wave event, or null when no recording wants it.
+     */
+    public static Wave beginWave() {
+        if (!FlightRecorder.isInitialized() || !Types.WAVE.isEnabled()) {
+            return null;
+        }
+        Wave event = new Wave();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * A started Paint event, or null when no recording wants it.
+     */
+    public static Paint beginPaint() {
+        if (!FlightRecorder.isInitialized() || !Types.PAINT.isEnabled()) {
+            return null;
+        }
+        Paint event = new Paint();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * One GameEngine.update call.
+     */
+    @Name("towerdefense.Tick")
+    @Label("Simulation Tick")
+    @Category({ CATEGORY, "Simulation" })
+    @Description("One fixed-timestep GameEngine.update")
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        @Label("Tick")
+        public long tick;
+        
+        @Label("Wave")
+        public int wave;
+        
+        @Label("Enemies")
+        public int enemies;
+        
+        @Label("Towers")
+        public int towers;
+    }
+    
+    /**
+     * A Tower.fire call that hit something.
+     */
+    @Name("towerdefense.TowerVolley")
+    @Label("Tower Volley")
+    @Category({ CATEGORY, "Simulation" })
+    @Description("A tower firing, with the enemies it hit")
+    @StackTrace(false)
+    public static final class TowerVolley extends Event {
+        @Label("Tower Type")
+        public String towerType;
+        
+        @Label("Hits")
+        public int hits;
+        
+        @Label("Damage")
+        @Description("Shield the enemies hit lost, after distance bands, armor and overkill")
+        public double damage;
+    }
+    
+    /**
+     * A wave from its start to the tick its last enemy is gone.
+     */
+    @Name("towerdefense.Wave")
+    @Label("Wave")
+    @Category({ CATEGORY, "Game" })
+    @Description("A wave, from startNextWave until it is cleared or the game ends")
+    @StackTrace(false)
+    public static final class Wave extends Event {
+        @Label("Wave")
+        public int wave;
+        
+        @Label("Cleared")
+        public boolean cleared;
+        
+        @Label("Kills")
+        public long kills;
+        
+        @Label("Breaches")
+        public int breaches;
+    }
+    
+    /**
+     * One frame drawn by GameGUI.renderFrame, with its draw stages.
+     */
+    @Name("towerdefense.Paint")
+    @Label("Paint")
+    @Category({ CATEGORY, "Rendering" })
+    @Description("One game frame and the time of each draw stage")
+    @StackTrace(false)
+    public static final class Paint extends Event {
+        @Label("Enemies")
+        public int enemies;
+        
+        @Label("drawScenery")
+        @Timespan(Timespan.NANOSECONDS)
+        public long sceneryTime;
+        
+        @Label("drawTowers")
+        @Timespan(Timespan.NANOSECONDS)
+        public long towersTime;
+        
+        @Label("drawEnemies")
+        @Timespan(Timespan.NANOSECONDS)
+        public long enemiesTime;
+        
+        @Label("drawUI")
+        @Timespan(Timespan.NANOSECONDS)
+        public long uiTime;
+        
+        /**
+         * Set the time of a PerformanceOverlay stage.
+         */
+        public void setStageTime(int stage, long nanos) {
+            switch (stage) {
+                case PerformanceOverlay.SCENERY:
+                    sceneryTime = nanos;
+                    break;
+                case PerformanceOverlay.TOWERS:
+                    towersTime = nanos;
+                    break;
+                case PerformanceOverlay.ENEMIES:
+                    enemiesTime = nanos;
+                    break;
+                default:
+                    uiTime = nanos;
+                    break;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Random;
 
@@ -17,15 +18,35 @@ public class GameGUI extends JPanel implements ActionListener {
     private Timer gameTimer;
     private static final int WINDOW_WIDTH = 800;
     private static final int WINDOW_HEIGHT = 600;
-    private static final double FPS = 60.0;
-    private static final double DELTA_TIME = 1.0 / FPS;
+    private static final double FPS = GameEngine.TICK_RATE;
+    private static final double DELTA_TIME = GameEngine.DELTA_TIME;
     
-    // Tower placement mode
-    private int selectedTowerType = -1; // 0: Archer, 1: Cannon, 2: Ice
-    private boolean placingTower = false;
+    // Tower placement mode (volatile: also read by the active render thread)
+    private volatile int selectedTowerType = -1; // 0: Archer, 1: Cannon, 2: Ice
+    private volatile boolean placingTower = false;
     
     // Game over state
-    private boolean showingGameOver = false;
+    private volatile boolean showingGameOver = false;
+    
+    // Engine thread (disable with -Dtd.simulationThread=false); null = ticks on the Swing timer
+    private SimulationLoop simulationLoop;
+    
+    // Gold shown in the last frame (button clicks must not read the engine from the EDT)
+    private volatile int displayedEnergy;
+    
+    // Optional Canvas/BufferStrategy render loop (-Dtd.activeRendering=true); null = repaint()
+    private ActiveRenderer activeRenderer;
+    
+    // Static scenery (background, path, base) rendered once and blitted every frame
+    private BufferedImage sceneryLayer;
+    private Path sceneryPath; // path the layer was drawn for
+    
+    // Enemy and tower sprites, rasterised on first paint
+    private SpriteAtlas sprites;
+    
+    // Frame and tick profiler HUD, toggled with F3
+    private final PerformanceOverlay performanceOverlay = new PerformanceOverlay();
+    private long stageMark; // end of the last draw stage (timed frames only)
     
     // --- Desert UI Colors ---
     // Background sand tones
@@ -38,10 +59,10 @@ public class GameGUI extends JPanel implements ActionListener {
     // Path colors (desert road)
     private static final Color PATH_LIGHT   = new Color(250, 210, 140); // light path sand
     private static final Color PATH_DARK    = new Color(198, 140, 83);  // darker path border
-    // Enemy colors
-    private static final Color STANDARD_ENEMY_COLOR = new Color(97, 67, 38);  // brown scarab/goblin
-    private static final Color ARMORED_ENEMY_COLOR  = new Color(60, 42, 29);  // dark stone golem
-    private static final Color FLYING_ENEMY_COLOR   = new Color(171, 120, 75); // desert vulture
+    // Tower range preview
+    private static final Color RANGE_FILL    = new Color(255, 255, 0, 20);
+    private static final Color RANGE_OUTLINE = new Color(255, 255, 0, 80);
+    private static final Stroke RANGE_STROKE = new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
     // UI / base colors
     private static final Color TEXT_COLOR   = new Color(255, 255, 255); // white text
     private static final Color BASE_COLOR   = new Color(255, 223, 0);   // golden pyramid
@@ -53,7 +74,7 @@ public class GameGUI extends JPanel implements ActionListener {
         setBackground(SAND_BG);
         
         // Mouse listener for tower placement and button clicks
-        addMouseListener(new MouseAdapter() {
+        MouseAdapter mouseHandler = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 int x = e.getX();
@@ -76,7 +97,7 @@ public class GameGUI extends JPanel implements ActionListener {
                         else if (i == 1) cost = 75;
                         else if (i == 2) cost = 70;
                         
-                        if (engine.getEnergyCore() >= cost) {
+                        if (displayedEnergy >= cost) {
                             selectedTowerType = i;
                             placingTower = true;
                             clickedButton = true;
@@ -106,9 +127,66 @@ public class GameGUI extends JPanel implements ActionListener {
                     }
                 }
             }
+        };
+        addMouseListener(mouseHandler);
+        
+        // F3 shows/hides the performance overlay
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "performanceOverlay");
+        getActionMap().put("performanceOverlay", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                togglePerformanceOverlay();
+            }
         });
         
-        // Initialize game timer
+        // + / - double or halve the game speed (with the simulation thread)
+        for (int key : new int[] { KeyEvent.VK_ADD, KeyEvent.VK_PLUS, KeyEvent.VK_EQUALS }) {
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key, 0), "faster");
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key, InputEvent.SHIFT_DOWN_MASK), "faster");
+        }
+        for (int key : new int[] { KeyEvent.VK_SUBTRACT, KeyEvent.VK_MINUS }) {
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key, 0), "slower");
+        }
+        getActionMap().put("faster", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                changeTimeScale(true);
+            }
+        });
+        getActionMap().put("slower", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                changeTimeScale(false);
+            }
+        });
+        
+        if (Boolean.parseBoolean(System.getProperty("td.simulationThread", "true"))) {
+            simulationLoop = new SimulationLoop(engine);
+        }
+        
+        if (Boolean.getBoolean("td.activeRendering")) {
+            // The canvas covers the panel and receives the clicks instead
+            setLayout(new BorderLayout());
+            activeRenderer = ActiveRenderer.fromSystemProperties(this::renderFrame);
+            activeRenderer.setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
+            activeRenderer.addMouseListener(mouseHandler);
+            activeRenderer.addKeyListener(new KeyAdapter() { // the canvas has the focus, not the panel
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    int key = e.getKeyCode();
+                    if (key == KeyEvent.VK_F3) {
+                        togglePerformanceOverlay();
+                    } else if (key == KeyEvent.VK_ADD || key == KeyEvent.VK_PLUS || key == KeyEvent.VK_EQUALS) {
+                        changeTimeScale(true);
+                    } else if (key == KeyEvent.VK_SUBTRACT || key == KeyEvent.VK_MINUS) {
+                        changeTimeScale(false);
+                    }
+                }
+            });
+            add(activeRenderer, BorderLayout.CENTER);
+        }
+        
+        // Initialize game timer (only repaints when the engine has its own thread)
         gameTimer = new Timer((int)(1000 / FPS), this);
     }
     
@@ -120,6 +198,12 @@ public class GameGUI extends JPanel implements ActionListener {
         engine.initializeGame();
         engine.startNextWave();
         gameTimer.start();
+        if (simulationLoop != null) {
+            simulationLoop.start();
+        }
+        if (activeRenderer != null) {
+            activeRenderer.start();
+        }
     }
     
     /**
@@ -129,7 +213,11 @@ public class GameGUI extends JPanel implements ActionListener {
         showingGameOver = false;
         selectedTowerType = -1;
         placingTower = false;
-        engine.resetGame();
+        long seed = GameEngine.randomSeed(); // new enemy mix each round
+        runOnSimulation(() -> {
+            engine.setSeed(seed);
+            engine.resetGame();
+        });
         gameTimer.start();
         repaint();
     }
@@ -141,33 +229,95 @@ public class GameGUI extends JPanel implements ActionListener {
         if (gameTimer != null) {
             gameTimer.stop();
         }
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+        }
+        if (simulationLoop != null) {
+            simulationLoop.stop();
+        }
+    }
+    
+    /**
+     * Show or hide the performance overlay.
+     */
+    public void togglePerformanceOverlay() {
+        performanceOverlay.toggle();
+        repaint(); // also when the game is over and nothing else repaints
+    }
+    
+    /**
+     * Double (faster) or halve the game speed, between 1x and
+     * SimulationLoop.MAX_TIME_SCALE. Needs the simulation thread: on the
+     * Swing timer every tick runs on the EDT, so the game stays at 1x.
+     */
+    public void changeTimeScale(boolean faster) {
+        if (simulationLoop == null) {
+            return;
+        }
+        int scale = simulationLoop.getTimeScale();
+        simulationLoop.setTimeScale(faster ? scale * 2 : scale / 2);
+        repaint();
+    }
+    
+    /**
+     * Run an engine command on the simulation thread between ticks, or
+     * right away when the engine is driven by the Swing timer.
+     */
+    private void runOnSimulation(Runnable command) {
+        if (simulationLoop != null) {
+            simulationLoop.submit(command);
+        } else {
+            command.run();
+        }
     }
     
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (engine.isGameRunning()) {
-            engine.update(DELTA_TIME);
+        if (simulationLoop == null) {
+            if (engine.isGameRunning()) {
+                engine.update(DELTA_TIME);
+                
+                // Check if wave is complete and start next wave
+                engine.startNextWaveIfCleared();
+            }
             
-            // Check if wave is complete and start next wave
-            if (engine.getEnemies().isEmpty() && engine.getCurrentWave() < engine.getTotalWaves()) {
-                engine.startNextWave();
+            // Check if game ended
+            if ((engine.isGameWon() || engine.isGameLost()) && !showingGameOver) {
+                showingGameOver = true;
+                gameTimer.stop();
             }
         }
         
-        // Check if game ended
-        if ((engine.isGameWon() || engine.isGameLost()) && !showingGameOver) {
-            showingGameOver = true;
-            gameTimer.stop();
+        if (activeRenderer == null) {
+            repaint();
         }
-        
-        repaint();
     }
     
     @Override
     protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (activeRenderer == null) {
+            renderFrame((Graphics2D) g);
+        }
+    }
+    
+    /**
+     * Draw one complete frame from the latest snapshot. Called from
+     * paintComponent, or from the render thread in active rendering mode.
+     */
+    private void renderFrame(Graphics2D g2d) {
+        boolean profiling = performanceOverlay.beginFrame();
+        GameEvents.Paint paintEvent = GameEvents.beginPaint(); // JFR (null = not recorded)
+        boolean timed = profiling || paintEvent != null;
+        if (timed) {
+            stageMark = System.nanoTime();
+        }
         try {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
+            FrameSnapshot frame = engine.getSnapshot();
+            displayedEnergy = frame.getEnergyCore();
+            if (simulationLoop != null) {
+                showingGameOver = frame.isGameWon() || frame.isGameLost();
+            }
             
             // Enable high-quality rendering
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -175,32 +325,111 @@ public class GameGUI extends JPanel implements ActionListener {
             g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
             g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
             
-            // Draw desert background
-            drawBackground(g2d);
-            
-            // Draw path with texture + numbered checkpoints
-            drawPath(g2d);
+            // Desert background, path with checkpoints and base (cached)
+            drawScenery(g2d);
             
-            // Draw base (pyramid) with detail
-            drawBase(g2d);
+            if (sprites == null) {
+                sprites = new SpriteAtlas(getGraphicsConfiguration());
+            }
+            if (timed) {
+                endStage(PerformanceOverlay.SCENERY, profiling, paintEvent);
+            }
             
             // Draw towers with shadows
-            drawTowers(g2d);
+            drawTowers(g2d, frame);
+            if (timed) {
+                endStage(PerformanceOverlay.TOWERS, profiling, paintEvent);
+            }
             
             // Draw enemies with detail
-            drawEnemies(g2d);
+            drawEnemies(g2d, frame);
+            if (timed) {
+                endStage(PerformanceOverlay.ENEMIES, profiling, paintEvent);
+            }
             
             // Draw UI panel and tower buttons
-            drawUI(g2d);
+            drawUI(g2d, frame);
             
             // Draw game over message
-            if (engine.isGameWon() || engine.isGameLost()) {
-                drawGameOver(g2d);
+            if (frame.isGameWon() || frame.isGameLost()) {
+                drawGameOver(g2d, frame);
+            }
+            if (timed) {
+                endStage(PerformanceOverlay.UI, profiling, paintEvent);
+            }
+            if (paintEvent != null) {
+                paintEvent.enemies = frame.getEnemyCount();
             }
         } catch (Exception ex) {
+            performanceOverlay.recordError(ex);
             System.err.println("Paint hatası: " + ex.getMessage());
             ex.printStackTrace();
         }
+        if (profiling) {
+            performanceOverlay.draw(g2d, engine.getMetrics(), WINDOW_WIDTH - 265, 5);
+        }
+        if (paintEvent != null) {
+            paintEvent.commit();
+        }
+    }
+    
+    /**
+     * A draw stage ends: hand its time to the overlay (when shown) and to
+     * the JFR paint event (when recorded).
+     */
+    private void endStage(int stage, boolean profiling, GameEvents.Paint paintEvent) {
+        long now = System.nanoTime();
+        long nanos = now - stageMark;
+        stageMark = now;
+        if (profiling) {
+            performanceOverlay.recordStage(stage, nanos);
+        }
+        if (paintEvent != null) {
+            paintEvent.setStageTime(stage, nanos);
+        }
+    }
+    
+    /**
+     * Blit the static scenery layer, rendering it first if the path or the
+     * panel size changed since it was built.
+     */
+    private void drawScenery(Graphics2D g2d) {
+        int width = getWidth() > 0 ? getWidth() : WINDOW_WIDTH;
+        int height = getHeight() > 0 ? getHeight() : WINDOW_HEIGHT;
+        Path path = engine.getPath();
+        if (sceneryLayer == null || sceneryPath != path
+                || sceneryLayer.getWidth() != width || sceneryLayer.getHeight() != height) {
+            sceneryLayer = renderScenery(width, height);
+            sceneryPath = path;
+        }
+        g2d.drawImage(sceneryLayer, 0, 0, null);
+    }
+    
+    /**
+     * Render background, path and base into a new image in the screen's
+     * pixel format (so blitting it is a plain, accelerated copy).
+     */
+    private BufferedImage renderScenery(int width, int height) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        BufferedImage image = gc != null
+                ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, width, height);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            
+            drawBackground(g2d);
+            drawPath(g2d);
+            drawBase(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
     }
     
     /**
@@ -476,292 +705,79 @@ public class GameGUI extends JPanel implements ActionListener {
     /**
      * Draw all towers.
      */
-    private void drawTowers(Graphics2D g2d) {
-        List<Tower> towers = engine.getTowers();
-        
-        for (Tower tower : towers) {
-            drawTower(g2d, tower);
+    private void drawTowers(Graphics2D g2d, FrameSnapshot frame) {
+        for (int i = 0; i < frame.getTowerCount(); i++) {
+            drawTower(g2d, frame.getTowerKind(i), frame.getTowerX(i), frame.getTowerY(i), frame.getTowerRange(i));
         }
     }
     
     /**
-     * Draw a single tower with stone base.
+     * Draw a single tower (atlas sprite) and its range while placing.
      */
-    private void drawTower(Graphics2D g2d, Tower tower) {
-        int x = (int) tower.getX();
-        int y = (int) tower.getY();
-        String type = tower.getTowerType();
+    private void drawTower(Graphics2D g2d, int kind, double towerX, double towerY, double range) {
+        int x = (int) towerX;
+        int y = (int) towerY;
         
         // Draw range circle (subtle, only when placing)
         if (placingTower && selectedTowerType >= 0) {
-            g2d.setColor(new Color(255, 255, 0, 20));
-            g2d.fillOval(x - (int)tower.getTargetingRange(), y - (int)tower.getTargetingRange(),
-                        (int)(tower.getTargetingRange() * 2), (int)(tower.getTargetingRange() * 2));
-            g2d.setColor(new Color(255, 255, 0, 80));
-            g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2d.drawOval(x - (int)tower.getTargetingRange(), y - (int)tower.getTargetingRange(),
-                        (int)(tower.getTargetingRange() * 2), (int)(tower.getTargetingRange() * 2));
-        }
-        
-        // Shadow
-        g2d.setColor(new Color(0, 0, 0, 120));
-        g2d.fillOval(x - 15, y + 12, 30, 10);
-        
-        // Tower base (stone)
-        GradientPaint towerGradient = new GradientPaint(
-            x - 20, y - 20, new Color(160, 160, 160),
-            x - 20, y + 15, new Color(100, 100, 100)
-        );
-        g2d.setPaint(towerGradient);
-        g2d.fillRoundRect(x - 20, y - 20, 40, 35, 8, 8);
-        
-        // Stone texture
-        g2d.setColor(new Color(120, 120, 120, 120));
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawLine(x - 18, y - 10, x + 18, y - 10);
-        g2d.drawLine(x - 18, y, x + 18, y);
-        g2d.drawLine(x - 18, y + 10, x + 18, y + 10);
-        g2d.drawLine(x - 10, y - 20, x - 10, y + 15);
-        g2d.drawLine(x + 10, y - 20, x + 10, y + 15);
-        
-        // Tower type specific drawing
-        if (type.contains("Okcu")) {
-            // Archer tower with bow
-            g2d.setColor(new Color(140, 140, 140));
-            g2d.fillRect(x - 16, y - 28, 32, 8);
-            g2d.setColor(new Color(120, 80, 40));
-            g2d.setStroke(new BasicStroke(4));
-            g2d.drawArc(x - 8, y - 32, 16, 12, 0, 180);
-            g2d.setColor(new Color(230, 230, 230));
-            g2d.setStroke(new BasicStroke(1));
-            g2d.drawLine(x - 8, y - 26, x + 8, y - 26);
-            g2d.setColor(new Color(139, 90, 43));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawLine(x, y - 28, x, y - 20);
-            int[] arrowTipX = {x, x - 2, x + 2};
-            int[] arrowTipY = {y - 28, y - 25, y - 25};
-            g2d.setColor(new Color(192, 192, 192));
-            g2d.fillPolygon(arrowTipX, arrowTipY, 3);
-        } else if (type.contains("Topcu")) {
-            // Cannon tower
-            g2d.setColor(new Color(140, 140, 140));
-            g2d.fillRect(x - 16, y - 28, 32, 8);
-            g2d.setColor(new Color(70, 70, 70));
-            g2d.fillOval(x - 8, y - 26, 16, 10);
-            g2d.setColor(new Color(170, 170, 170));
-            g2d.setStroke(new BasicStroke(5));
-            g2d.drawLine(x + 8, y - 22, x + 22, y - 25);
-            g2d.setColor(new Color(30, 30, 30));
-            g2d.fillOval(x + 18, y - 27, 6, 6);
-            g2d.setColor(new Color(110, 110, 110));
-            g2d.setStroke(new BasicStroke(1));
-            g2d.drawOval(x - 8, y - 26, 16, 10);
-        } else if (type.contains("Buz")) {
-            // Ice tower with crystal
-            g2d.setColor(new Color(140, 140, 140));
-            g2d.fillRect(x - 16, y - 28, 32, 8);
-            int[] crystalX = {x, x - 6, x + 6, x, x - 4, x + 4};
-            int[] crystalY = {y - 30, y - 24, y - 24, y - 20, y - 22, y - 22};
-            g2d.setColor(new Color(173, 216, 230, 180));
-            g2d.fillPolygon(crystalX, crystalY, 6);
-            g2d.setColor(new Color(135, 206, 250));
-            int[] innerX = {x, x - 4, x + 4, x, x - 2, x + 2};
-            int[] innerY = {y - 28, y - 24, y - 24, y - 21, y - 23, y - 23};
-            g2d.fillPolygon(innerX, innerY, 6);
-            g2d.setColor(new Color(100, 150, 200));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawPolygon(crystalX, crystalY, 6);
+            g2d.setColor(RANGE_FILL);
+            g2d.fillOval(x - (int)range, y - (int)range, (int)(range * 2), (int)(range * 2));
+            g2d.setColor(RANGE_OUTLINE);
+            g2d.setStroke(RANGE_STROKE);
+            g2d.drawOval(x - (int)range, y - (int)range, (int)(range * 2), (int)(range * 2));
         }
         
-        // Tower border
-        g2d.setColor(new Color(70, 70, 70));
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRoundRect(x - 20, y - 20, 40, 35, 8, 8);
-        g2d.setColor(new Color(130, 130, 130));
-        g2d.drawRect(x - 16, y - 28, 32, 8);
+        sprites.drawTower(g2d, kind, x, y);
     }
     
     /**
      * Draw all enemies.
      */
-    private void drawEnemies(Graphics2D g2d) {
-        List<Enemy> enemies = engine.getEnemies();
-        
-        for (Enemy enemy : enemies) {
-            if (enemy.isAlive()) {
-                drawEnemy(g2d, enemy);
-            }
+    private void drawEnemies(Graphics2D g2d, FrameSnapshot frame) {
+        double alpha = interpolationAlpha(frame);
+        
+        // Snapshot only contains alive enemies
+        for (int i = 0; i < frame.getEnemyCount(); i++) {
+            double x = lerp(frame.getEnemyPrevX(i), frame.getEnemyX(i), alpha);
+            double y = lerp(frame.getEnemyPrevY(i), frame.getEnemyY(i), alpha);
+            drawEnemy(g2d, frame.getEnemyKind(i), x, y,
+                      frame.getEnemyShield(i), frame.getEnemyMaxShield(i), frame.isEnemySlowed(i));
         }
     }
     
     /**
-     * Draw a single enemy (desert-themed).
+     * How far (0-1) the frame is between the snapshot's previous and current
+     * tick. Frames drawn between ticks of the simulation thread show enemies
+     * part of the way, so motion stays smooth at any refresh rate (one tick
+     * behind the simulation). Without the thread every paint follows a tick.
      */
-    private void drawEnemy(Graphics2D g2d, Enemy enemy) {
-        int x = (int) enemy.getX();
-        int y = (int) enemy.getY();
-        
-        // Determine color based on enemy type and effects
-        Color enemyColor;
-        if (enemy instanceof FlyingEnemy) {
-            enemyColor = FLYING_ENEMY_COLOR;
-        } else if (enemy instanceof ArmoredEnemy) {
-            enemyColor = ARMORED_ENEMY_COLOR;
-        } else {
-            enemyColor = STANDARD_ENEMY_COLOR;
+    private double interpolationAlpha(FrameSnapshot frame) {
+        if (simulationLoop == null || !simulationLoop.isRunning()) {
+            return 1.0;
         }
-        
-        // Apply ice tower effect - blue tint if slowed
-        if (enemy.hasSlowEffect()) {
-            enemyColor = new Color(
-                Math.max(0, Math.min(255, enemyColor.getRed() - 40)),
-                Math.max(0, Math.min(255, enemyColor.getGreen() + 40)),
-                Math.max(0, Math.min(255, enemyColor.getBlue() + 120))
-            );
-        }
-        
-        // Shadow
-        g2d.setColor(new Color(0, 0, 0, 100));
-        g2d.fillOval(x - 10, y + 8, 20, 6);
-        
-        if (enemy.isFlying()) {
-            // Vulture-like flying enemy
-            GradientPaint bodyGrad = new GradientPaint(
-                x, y - 8, enemyColor.brighter(),
-                x, y + 8, enemyColor.darker()
-            );
-            g2d.setPaint(bodyGrad);
-            g2d.fillOval(x - 8, y - 3, 16, 10);
-            
-            g2d.setColor(enemyColor);
-            g2d.fillOval(x - 15, y - 5, 12, 8);
-            g2d.fillOval(x + 3, y - 5, 12, 8);
-            
-            g2d.setColor(enemyColor.darker());
-            g2d.fillOval(x - 6, y - 8, 8, 6);
-            
-            int[] beakX = {x - 2, x + 2, x};
-            int[] beakY = {y - 9, y - 9, y - 7};
-            g2d.setColor(new Color(255, 193, 7));
-            g2d.fillPolygon(beakX, beakY, 3);
-            
-            g2d.setColor(Color.YELLOW);
-            g2d.fillOval(x - 3, y - 7, 3, 3);
-            g2d.fillOval(x, y - 7, 3, 3);
-            g2d.setColor(Color.BLACK);
-            g2d.fillOval(x - 2, y - 6, 2, 2);
-            g2d.fillOval(x + 1, y - 6, 2, 2);
-            
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(1.5f));
-            g2d.drawOval(x - 8, y - 3, 16, 10);
-            g2d.drawOval(x - 15, y - 5, 12, 8);
-            g2d.drawOval(x + 3, y - 5, 12, 8);
-        } else if (enemy instanceof ArmoredEnemy) {
-            // Golem / armored monster
-            GradientPaint grad = new GradientPaint(
-                x - 20, y - 15, new Color(80, 70, 60),
-                x - 20, y + 15, new Color(40, 30, 25)
-            );
-            g2d.setPaint(grad);
-            g2d.fillOval(x - 22, y - 18, 44, 36);
-            
-            g2d.setColor(new Color(60, 50, 40));
-            g2d.fillOval(x - 8, y - 22, 20, 16);
-            
-            int[] snoutX = {x + 8, x + 16, x + 12};
-            int[] snoutY = {y - 18, y - 16, y - 12};
-            g2d.fillPolygon(snoutX, snoutY, 3);
-            
-            g2d.setColor(new Color(255, 87, 34));
-            g2d.fillOval(x - 2, y - 20, 6, 6);
-            g2d.fillOval(x + 4, y - 20, 6, 6);
-            
-            g2d.setColor(new Color(40, 30, 25));
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(x - 22, y - 18, 44, 36);
-            g2d.drawOval(x - 8, y - 22, 20, 16);
-        } else {
-            // Standard desert bandit/goblin
-            GradientPaint grad = new GradientPaint(
-                x - 10, y - 10, new Color(214, 162, 92),
-                x - 10, y + 10, new Color(158, 113, 68)
-            );
-            g2d.setPaint(grad);
-            g2d.fillOval(x - 12, y - 12, 24, 24);
-            
-            g2d.setColor(new Color(214, 184, 153));
-            g2d.fillOval(x - 7, y - 18, 14, 12);
-            
-            g2d.setColor(new Color(97, 67, 38));
-            int[] leftEarX = {x - 7, x - 11, x - 8};
-            int[] leftEarY = {y - 18, y - 22, y - 16};
-            int[] rightEarX = {x + 7, x + 11, x + 8};
-            int[] rightEarY = {y - 18, y - 22, y - 16};
-            g2d.fillPolygon(leftEarX, leftEarY, 3);
-            g2d.fillPolygon(rightEarX, rightEarY, 3);
-            
-            g2d.setColor(new Color(255, 193, 7));
-            g2d.fillOval(x - 4, y - 16, 3, 3);
-            g2d.fillOval(x + 1, y - 16, 3, 3);
-            g2d.setColor(Color.BLACK);
-            g2d.fillOval(x - 3, y - 15, 1, 1);
-            g2d.fillOval(x + 2, y - 15, 1, 1);
-            
-            g2d.setColor(new Color(189, 155, 107));
-            g2d.fillOval(x - 1, y - 13, 2, 2);
-            
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(1.5f));
-            g2d.drawArc(x - 3, y - 11, 6, 4, 0, 180);
-            
-            // Simple scimitar
-            g2d.setColor(new Color(224, 224, 224));
-            g2d.setStroke(new BasicStroke(3));
-            g2d.drawLine(x + 12, y - 10, x + 14, y + 6);
-            int[] tipX = {x + 14, x + 18, x + 16};
-            int[] tipY = {y - 10, y - 6, y - 4};
-            g2d.fillPolygon(tipX, tipY, 3);
-            g2d.setColor(new Color(120, 80, 40));
-            g2d.fillRect(x + 11, y + 4, 4, 5);
-            
-            g2d.setColor(Color.BLACK);
-            g2d.setStroke(new BasicStroke(2));
-            g2d.drawOval(x - 12, y - 12, 24, 24);
-            g2d.drawOval(x - 7, y - 18, 14, 12);
-        }
-        
-        // Health bar
-        double currentHP = enemy.getShieldIntegrity();
-        double maxHP = enemy.getMaxShieldIntegrity();
-        double healthPercent = currentHP / maxHP;
-        int barWidth = 24;
-        int barHeight = 5;
-        
-        g2d.setColor(new Color(150, 0, 0));
-        g2d.fillRect(x - barWidth/2, y - 25, barWidth, barHeight);
-        
-        if (healthPercent > 0) {
-            g2d.setColor(new Color(0, (int)(255 * healthPercent), 0));
-            g2d.fillRect(x - barWidth/2, y - 25, (int)(barWidth * healthPercent), barHeight);
-        }
-        
-        g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawRect(x - barWidth/2, y - 25, barWidth, barHeight);
-        
-        g2d.setFont(new Font("Arial", Font.PLAIN, 8));
-        String healthText = String.format("%.0f/%.0f", currentHP, maxHP);
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = x - fm.stringWidth(healthText) / 2;
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(healthText, textX, y - 28);
+        double elapsed = System.nanoTime() - frame.getPublishNanos();
+        return Math.max(0.0, Math.min(1.0, elapsed / simulationLoop.getTickNanos()));
+    }
+    
+    private static double lerp(double from, double to, double t) {
+        return t >= 1.0 ? to : from + (to - from) * t;
+    }
+    
+    /**
+     * Draw a single enemy (atlas sprite) with its health bar.
+     */
+    private void drawEnemy(Graphics2D g2d, int kind, double enemyX, double enemyY,
+                           double currentHP, double maxHP, boolean slowed) {
+        int x = (int) enemyX;
+        int y = (int) enemyY;
+        sprites.drawEnemy(g2d, kind, slowed, x, y);
+        sprites.drawHealth(g2d, x, y, currentHP, maxHP);
     }
     
     /**
      * Draw UI information panel + bottom tower buttons.
      */
-    private void drawUI(Graphics2D g2d) {
+    private void drawUI(Graphics2D g2d, FrameSnapshot frame) {
         // Left info panel (scroll-like)
         g2d.setColor(new Color(92, 64, 51, 220));
         g2d.fillRoundRect(5, 5, 250, 130, 12, 12);
@@ -784,7 +800,7 @@ public class GameGUI extends JPanel implements ActionListener {
         int[] heartY = {yPos - 8, yPos - 12, yPos - 15, yPos - 12, yPos - 8, yPos - 5, yPos - 8};
         g2d.fillPolygon(heartX, heartY, 7);
         g2d.setColor(TEXT_COLOR);
-        g2d.drawString("Kale Savunması: " + engine.getPlayerShieldIntegrity() + "/150", 35, yPos);
+        g2d.drawString("Kale Savunması: " + frame.getPlayerShieldIntegrity() + "/150", 35, yPos);
         yPos += 25;
         
         // Gold icon
@@ -796,7 +812,7 @@ public class GameGUI extends JPanel implements ActionListener {
         g2d.setStroke(new BasicStroke(1));
         g2d.drawOval(15, yPos - 10, 12, 12);
         g2d.setColor(TEXT_COLOR);
-        g2d.drawString("Altın: " + engine.getEnergyCore(), 30, yPos);
+        g2d.drawString("Altın: " + frame.getEnergyCore(), 30, yPos);
         yPos += 25;
         
         // Wave info
@@ -805,7 +821,7 @@ public class GameGUI extends JPanel implements ActionListener {
         g2d.drawString("~", 15, yPos);
         g2d.setColor(TEXT_COLOR);
         g2d.setFont(new Font("Arial", Font.BOLD, 14));
-        g2d.drawString("Dalga: " + engine.getCurrentWave() + " / " + engine.getTotalWaves(), 30, yPos);
+        g2d.drawString("Dalga: " + frame.getCurrentWave() + " / " + frame.getTotalWaves(), 30, yPos);
         yPos += 25;
         
         // Enemy count
@@ -816,14 +832,14 @@ public class GameGUI extends JPanel implements ActionListener {
         int[] swordTipY = {yPos - 8, yPos - 6, yPos - 6};
         g2d.fillPolygon(swordTipX, swordTipY, 3);
         g2d.setColor(TEXT_COLOR);
-        g2d.drawString("Düşman: " + engine.getEnemies().size(), 30, yPos);
+        g2d.drawString("Düşman: " + frame.getEnemyCount(), 30, yPos);
         
         // Tower buttons at bottom
         int buttonX = WINDOW_WIDTH - 250;
         int buttonY = WINDOW_HEIGHT - 160;
-        drawTowerButton(g2d, "Okçu Kulesi 50", buttonX, buttonY, 0);
-        drawTowerButton(g2d, "Topçu Kulesi 75", buttonX, buttonY + 50, 1);
-        drawTowerButton(g2d, "Buz Kulesi 70", buttonX, buttonY + 100, 2);
+        drawTowerButton(g2d, frame, "Okçu Kulesi 50", buttonX, buttonY, 0);
+        drawTowerButton(g2d, frame, "Topçu Kulesi 75", buttonX, buttonY + 50, 1);
+        drawTowerButton(g2d, frame, "Buz Kulesi 70", buttonX, buttonY + 100, 2);
         
         // Instructions stripe
         g2d.setColor(new Color(92, 64, 51, 220));
@@ -834,12 +850,15 @@ public class GameGUI extends JPanel implements ActionListener {
         g2d.setColor(TEXT_COLOR);
         g2d.setFont(new Font("Arial", Font.PLAIN, 13));
         g2d.drawString("Kule yerleştirmek için butona tıklayın, sonra haritaya tıklayın", 15, WINDOW_HEIGHT - 25);
+        if (simulationLoop != null) {
+            g2d.drawString("Hız: " + simulationLoop.getTimeScale() + "x (+/-)", WINDOW_WIDTH - 120, WINDOW_HEIGHT - 25);
+        }
     }
     
     /**
      * Draw a tower selection button.
      */
-    private void drawTowerButton(Graphics2D g2d, String text, int x, int y, int type) {
+    private void drawTowerButton(Graphics2D g2d, FrameSnapshot frame, String text, int x, int y, int type) {
         boolean isSelected = (selectedTowerType == type);
         
         int cost = 0;
@@ -847,7 +866,7 @@ public class GameGUI extends JPanel implements ActionListener {
         else if (type == 1) cost = 75;
         else if (type == 2) cost = 70;
         
-        boolean isDisabled = (engine.getEnergyCore() < cost);
+        boolean isDisabled = (frame.getEnergyCore() < cost);
         
         Color bgTop, bgBottom;
         Color borderColor;
@@ -928,24 +947,24 @@ public class GameGUI extends JPanel implements ActionListener {
     /**
      * Draw game over message with restart button.
      */
-    private void drawGameOver(Graphics2D g2d) {
+    private void drawGameOver(Graphics2D g2d, FrameSnapshot frame) {
         g2d.setColor(new Color(0, 0, 0, 220));
         g2d.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         g2d.setColor(TEXT_COLOR);
         g2d.setFont(new Font("Arial", Font.BOLD, 48));
-        String message = engine.isGameWon() ? "KAZANDINIZ!" : "KAYBETTİNİZ!";
+        String message = frame.isGameWon() ? "KAZANDINIZ!" : "KAYBETTİNİZ!";
         FontMetrics fm = g2d.getFontMetrics();
         int textWidth = fm.stringWidth(message);
         
         g2d.setColor(new Color(0, 0, 0, 150));
         g2d.drawString(message, (WINDOW_WIDTH - textWidth) / 2 + 3, WINDOW_HEIGHT / 2 + 3);
         
-        g2d.setColor(engine.isGameWon() ? new Color(0, 255, 0) : new Color(255, 0, 0));
+        g2d.setColor(frame.isGameWon() ? new Color(0, 255, 0) : new Color(255, 0, 0));
         g2d.drawString(message, (WINDOW_WIDTH - textWidth) / 2, WINDOW_HEIGHT / 2);
         
         g2d.setFont(new Font("Arial", Font.PLAIN, 18));
-        String subtitle = engine.isGameWon() ? 
+        String subtitle = frame.isGameWon() ? 
             "Tüm istilacı orduları durdurdunuz!" : 
             "Kale savunması tükendi!";
         fm = g2d.getFontMetrics();
@@ -1030,12 +1049,17 @@ public class GameGUI extends JPanel implements ActionListener {
         }
         
         if (tower != null) {
-            boolean success = engine.placeTower(tower);
-            if (success) {
-                placingTower = false;
-                selectedTowerType = -1;
-                repaint();
-            }
+            Tower placed = tower;
+            runOnSimulation(() -> {
+                if (engine.placeTower(placed)) {
+                    // Leave placement mode on the EDT once the engine accepted it
+                    SwingUtilities.invokeLater(() -> {
+                        placingTower = false;
+                        selectedTowerType = -1;
+                        repaint();
+                    });
+                }
+            });
         }
     }
     
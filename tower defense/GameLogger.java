@@ -0,0 +1,338 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Game Logger - asynchronous, batched writer for savunma_gunlugu.txt.
+ * The simulation thread only copies a compact event record (kind, game
+ * time, a few constant strings and numbers) into a bounded ring buffer.
+ * A background thread formats the records, writes them in batches and
+ * flushes periodically, so combat logging no longer formats or flushes
+ * inside the tick.
+ */
+public class GameLogger implements AutoCloseable {
+    /**
+     * What to do when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        BLOCK,       // wait for the writer (never loses records)
+        DROP_NEWEST, // discard the record being logged
+        DROP_OLDEST  // overwrite the oldest queued record
+    }
+    
+    public static final String DEFAULT_LOG_FILE = "savunma_gunlugu.txt";
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 250;
+    
+    // Record kinds (formatted by the writer thread)
+    private static final int TEXT = 0;
+    private static final int SPAWN = 1;
+    private static final int BREACH = 2;
+    private static final int HIT = 3;
+    private static final int KILL = 4;
+    private static final int REWARD = 5;
+    private static final int TOWER_PLACED = 6;
+    private static final int NOT_ENOUGH_GOLD = 7;
+    
+    /**
+     * One preallocated ring slot; strings are references to constants.
+     */
+    private static class Record {
+        int kind;
+        double time;
+        String a;
+        String b;
+        double value;
+        int n1;
+        int n2;
+        
+        void copyFrom(Record other) {
+            kind = other.kind;
+            time = other.time;
+            a = other.a;
+            b = other.b;
+            value = other.value;
+            n1 = other.n1;
+            n2 = other.n2;
+        }
+    }
+    
+    private final PrintWriter logWriter;
+    private final boolean echoToConsole;
+    private final OverflowPolicy overflowPolicy;
+    private final long flushIntervalMillis;
+    
+    private final Object lock = new Object();
+    private final Record[] ring;
+    private final Record[] batch; // writer-side copy, formatted outside the lock
+    private int head; // next record to write out
+    private int count;
+    private long dropped;
+    private boolean closed;
+    private boolean writerWaiting;
+    
+    private final Thread writerThread;
+    
+    public GameLogger(String filePath, boolean echoToConsole, int capacity,
+                      OverflowPolicy overflowPolicy, long flushIntervalMillis) {
+        PrintWriter writer = null;
+        if (filePath != null) {
+            try {
+                writer = new PrintWriter(new FileWriter(filePath, true));
+            } catch (IOException e) {
+                System.err.println("Kayıt dosyası oluşturulamadı: " + e.getMessage());
+            }
+        }
+        this.logWriter = writer;
+        this.echoToConsole = echoToConsole;
+        this.overflowPolicy = overflowPolicy;
+        this.flushIntervalMillis = flushIntervalMillis;
+        
+        ring = new Record[capacity];
+        batch = new Record[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Record();
+            batch[i] = new Record();
+        }
+        
+        writerThread = new Thread(this::writerLoop, "game-logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+    
+    /**
+     * Logger for the game log file; policy from -Dtd.log.overflow (default DROP_OLDEST).
+     */
+    public static GameLogger openDefault() {
+        OverflowPolicy policy = OverflowPolicy.valueOf(
+                System.getProperty("td.log.overflow", OverflowPolicy.DROP_OLDEST.name()));
+        return new GameLogger(DEFAULT_LOG_FILE, true, DEFAULT_CAPACITY, policy, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+    
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+    
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+    
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return count;
+        }
+    }
+    
+    // --- Producer side (simulation thread) ---
+    
+    public void text(double time, String message) {
+        enqueue(TEXT, time, message, null, 0, 0, 0);
+    }
+    
+    /** "label" */
+    public void spawn(double time, String label) {
+        enqueue(SPAWN, time, label, null, 0, -1, 0);
+    }
+    
+    /** "label (Zırh: armor)" */
+    public void spawn(double time, String label, int armorRating) {
+        enqueue(SPAWN, time, label, null, 0, armorRating, 0);
+    }
+    
+    public void breach(double time, String enemyType, int shieldIntegrity) {
+        enqueue(BREACH, time, enemyType, null, 0, shieldIntegrity, 0);
+    }
+    
+    public void hit(double time, String towerType, String enemyType, double remainingShield) {
+        enqueue(HIT, time, towerType, enemyType, remainingShield, 0, 0);
+    }
+    
+    public void kill(double time, String enemyType, int rewardEnergy) {
+        enqueue(KILL, time, enemyType, null, 0, rewardEnergy, 0);
+    }
+    
+    public void reward(double time, int energyCore, int rewardEnergy) {
+        enqueue(REWARD, time, null, null, 0, energyCore, rewardEnergy);
+    }
+    
+    public void towerPlaced(double time, String towerType, int cost, int energyCore) {
+        enqueue(TOWER_PLACED, time, towerType, null, 0, cost, energyCore);
+    }
+    
+    public void notEnoughGold(double time, int cost, int energyCore) {
+        enqueue(NOT_ENOUGH_GOLD, time, null, null, 0, cost, energyCore);
+    }
+    
+    private void enqueue(int kind, double time, String a, String b, double value, int n1, int n2) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (count == ring.length) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    dropped++;
+                    return;
+                } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    head = (head + 1) % ring.length;
+                    count--;
+                    dropped++;
+                } else {
+                    while (count == ring.length && !closed) {
+                        lock.notifyAll();
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    if (closed) {
+                        return;
+                    }
+                }
+            }
+            
+            Record record = ring[(head + count) % ring.length];
+            record.kind = kind;
+            record.time = time;
+            record.a = a;
+            record.b = b;
+            record.value = value;
+            record.n1 = n1;
+            record.n2 = n2;
+            count++;
+            
+            // Only wake the writer early when the buffer is filling up
+            if (writerWaiting && count >= ring.length / 2) {
+                lock.notifyAll();
+            }
+        }
+    }
+    
+    // --- Consumer side (writer thread) ---
+    
+    private void writerLoop() {
+        StringBuilder line = new StringBuilder(128);
+        long lastFlush = System.currentTimeMillis();
+        long reportedDrops = 0;
+        
+        while (true) {
+            int taken;
+            long drops;
+            boolean done;
+            synchronized (lock) {
+                while (count == 0 && !closed) {
+                    writerWaiting = true;
+                    try {
+                        lock.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                    writerWaiting = false;
+                    if (count == 0 && System.currentTimeMillis() - lastFlush >= flushIntervalMillis) {
+                        break;
+                    }
+                }
+                taken = count;
+                for (int i = 0; i < taken; i++) {
+                    batch[i].copyFrom(ring[(head + i) % ring.length]);
+                }
+                head = (head + taken) % ring.length;
+                count = 0;
+                drops = dropped;
+                done = closed;
+                lock.notifyAll(); // producers blocked by the BLOCK policy
+            }
+            
+            if (drops > reportedDrops) {
+                writeLine(line.append(drops - reportedDrops).append(" kayıt atlandı (günlük kuyruğu dolu)"), 0.0, false);
+                reportedDrops = drops;
+            }
+            for (int i = 0; i < taken; i++) {
+                format(batch[i], line);
+                writeLine(line, batch[i].time, true);
+            }
+            
+            long now = System.currentTimeMillis();
+            if (done || now - lastFlush >= flushIntervalMillis) {
+                if (logWriter != null) {
+                    logWriter.flush();
+                }
+                lastFlush = now;
+            }
+            if (done) {
+                break;
+            }
+        }
+        
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+    
+    private void writeLine(StringBuilder message, double time, boolean timestamped) {
+        if (logWriter != null) {
+            if (timestamped) {
+                logWriter.print("[" + String.format("%.2f", time) + "s] ");
+            }
+            logWriter.println(message);
+        }
+        if (echoToConsole) {
+            System.out.println("[LOG] " + message);
+        }
+        message.setLength(0);
+    }
+    
+    private static void format(Record r, StringBuilder sb) {
+        switch (r.kind) {
+            case SPAWN:
+                sb.append(r.a);
+                if (r.n1 >= 0) {
+                    sb.append(" (Zırh: ").append(r.n1).append(')');
+                }
+                break;
+            case BREACH:
+                sb.append(r.a).append(" kaleye ulaştı! Kale Savunması: ").append(r.n1);
+                break;
+            case HIT:
+                sb.append(r.a).append(" -> ").append(r.b).append(" hasar verdi (Can: ")
+                  .append(String.format("%.1f", r.value)).append(')');
+                break;
+            case KILL:
+                sb.append(r.a).append(" yok edildi! Altın Kazancı: ").append(r.n1);
+                break;
+            case REWARD:
+                sb.append("Altın Hazinesi: ").append(r.n1).append(" (+").append(r.n2).append(')');
+                break;
+            case TOWER_PLACED:
+                sb.append(r.a).append(" yerleştirildi. Maliyet: ").append(r.n1)
+                  .append(", Kalan Altın: ").append(r.n2);
+                break;
+            case NOT_ENOUGH_GOLD:
+                sb.append("Yetersiz altın! Gerekli: ").append(r.n1).append(", Mevcut: ").append(r.n2);
+                break;
+            default:
+                sb.append(r.a);
+                break;
+        }
+    }
+    
+    /**
+     * Stop accepting records, write out everything queued and close the file.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Headless Simulation - runs a GameEngine without any AWT/Swing.
+ * Advances the engine with the same fixed DELTA_TIME the GUI timer uses,
+ * but as fast as the CPU allows, and starts waves the same way
+ * GameGUI.actionPerformed does.
+ *
+ * Game i (0-based) is played with seed -Dtd.seed + i, so any game of a
+ * run can be reproduced; without -Dtd.seed the base seed is random.
+ *
+ * With -Dtd.eventDriven=true (or setEventDriven) the loop goes from event
+ * to event (GameEngine.updateToNextEvent): spawns, shots, slows and
+ * breaches, with enemies moved over each gap at once. Events happen at
+ * their own time rather than on tick boundaries, so results match the
+ * fixed-step game within a small tolerance, not exactly. It needs list
+ * mode: with the enemy store on every step is a tick.
+ *
+ * Usage: java [-Dtd.enemyStore=true] [-Dtd.twoPhaseTowers=true] [-Dtd.eventDriven=true] [-Dtd.seed=N]
+ *        HeadlessSimulation [layout] [games]
+ */
+public class HeadlessSimulation {
+    // Safety limit so a broken engine can never spin forever (1 hour of game time)
+    private static final double MAX_GAME_TIME = 3600.0;
+    
+    public enum Outcome { WON, LOST, TIMEOUT }
+    
+    /**
+     * Result of one headless game.
+     */
+    public static class Result {
+        public final Outcome outcome;
+        public final long seed;
+        public final long ticks;   // DELTA_TIME ticks of game time played
+        public final long updates; // engine updates (fewer than ticks when event-driven)
+        public final double gameTime;
+        public final long wallNanos;
+        public final int shieldIntegrity;
+        public final int energyCore;
+        public final int wave;
+        public final int breaches;
+        
+        Result(Outcome outcome, long seed, long ticks, long updates, double gameTime, long wallNanos,
+               int shieldIntegrity, int energyCore, int wave, int breaches) {
+            this.outcome = outcome;
+            this.seed = seed;
+            this.ticks = ticks;
+            this.updates = updates;
+            this.gameTime = gameTime;
+            this.wallNanos = wallNanos;
+            this.shieldIntegrity = shieldIntegrity;
+            this.energyCore = energyCore;
+            this.wave = wave;
+            this.breaches = breaches;
+        }
+        
+        public double getTicksPerSecond() {
+            return wallNanos > 0 ? ticks * 1e9 / wallNanos : 0.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s tohum=%d dalga=%d kale=%d altın=%d tick=%d güncelleme=%d oyunSüresi=%.2fs tick/s=%.0f",
+                    outcome, seed, wave, shieldIntegrity, energyCore, ticks, updates, gameTime, getTicksPerSecond());
+        }
+    }
+    
+    private final GameEngine engine;
+    private final TowerLayout layout;
+    private boolean eventDriven = Boolean.getBoolean("td.eventDriven");
+    
+    public HeadlessSimulation(GameEngine engine, TowerLayout layout) {
+        this.engine = engine;
+        this.layout = layout;
+    }
+    
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+    
+    /**
+     * Play one full game from the start and return its outcome.
+     */
+    public Result run() {
+        engine.initializeGame();
+        layout.placeOn(engine);
+        engine.startNextWave();
+        
+        long updates = 0;
+        long start = System.nanoTime();
+        while (engine.isGameRunning() && engine.getGameTime() < MAX_GAME_TIME) {
+            if (eventDriven) {
+                engine.updateToNextEvent(MAX_GAME_TIME - engine.getGameTime());
+            } else {
+                engine.update(GameEngine.DELTA_TIME);
+            }
+            engine.startNextWaveIfCleared();
+            updates++;
+        }
+        long wallNanos = System.nanoTime() - start;
+        long ticks = eventDriven ? Math.round(engine.getGameTime() / GameEngine.DELTA_TIME) : updates;
+        
+        Outcome outcome;
+        if (engine.isGameWon()) {
+            outcome = Outcome.WON;
+        } else if (engine.isGameLost()) {
+            outcome = Outcome.LOST;
+        } else {
+            outcome = Outcome.TIMEOUT;
+        }
+        return new Result(outcome, engine.getSeed(), ticks, updates, engine.getGameTime(), wallNanos,
+                engine.getPlayerShieldIntegrity(), engine.getEnergyCore(), engine.getCurrentWave(),
+                engine.getBreachCount());
+    }
+    
+    /**
+     * Engine set up for headless runs: no log file, no renderer snapshots.
+     */
+    public static GameEngine createEngine() {
+        GameEngine engine = new GameEngine(false);
+        engine.setEnemyStoreEnabled(Boolean.getBoolean("td.enemyStore"));
+        engine.setTwoPhaseTowers(Boolean.getBoolean("td.twoPhaseTowers"));
+        engine.setSnapshotPublishing(false); // no renderer
+        return engine;
+    }
+    
+    public static void main(String[] args) {
+        TowerLayout layout = TowerLayout.parse(args.length > 0 ? args[0] : TowerLayout.DEFAULT_LAYOUT);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long baseSeed = GameEngine.seedProperty();
+        
+        long totalTicks = 0;
+        long totalNanos = 0;
+        int wins = 0;
+        for (int i = 0; i < games; i++) {
+            GameEngine engine = createEngine();
+            engine.setSeed(baseSeed + i);
+            Result result = new HeadlessSimulation(engine, layout).run();
+            engine.close();
+            System.out.println("Oyun " + (i + 1) + ": " + result);
+            totalTicks += result.ticks;
+            totalNanos += result.wallNanos;
+            if (result.outcome == Outcome.WON) {
+                wins++;
+            }
+        }
+        
+        System.out.println(String.format("Toplam: %d oyun, %d kazanıldı, %d tick, %.0f tick/s",
+                games, wins, totalTicks, totalNanos > 0 ? totalTicks * 1e9 / totalNanos : 0.0));
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,51 +18,37 @@ public class IceTower extends Tower {
     }
     
     @Override
-    public List<Enemy> fire(List<Enemy> enemies, double currentTime) {
-        List<Enemy> hitEnemies = new ArrayList<>();
-        
+    public int aim(List<Enemy> enemies, double currentTime, ShotPlan plan) {
+        plan.clear();
         if (!canFire(currentTime)) {
-            return hitEnemies;
+            return 0;
         }
-        
         // Find target: closest to base among enemies in range
-        Enemy target = findTarget(enemies);
-        
+        Enemy target = findTarget(enemies, true);
         if (target != null && target.isAlive()) {
-            // Only damage if enemy is still alive
-            if (target.isAlive()) {
-                // Apply distance-based damage
-                double actualDamage = damageOutput * calculateDistanceDamageMultiplier(target);
-                target.takeDamage(actualDamage);
-                
-                // Apply slow effect (50% speed reduction for 3 seconds)
-                target.applySlowEffect(SLOW_DURATION);
-                
-                hitEnemies.add(target);
-                updateFireTime(currentTime);
-            }
+            // Distance-based damage, then the slow (50% speed for 3 seconds)
+            plan.add(target, damageOutput * calculateDistanceDamageMultiplier(target));
+            plan.setSlowDuration(SLOW_DURATION);
         }
-        
-        return hitEnemies;
+        return plan.size();
     }
     
-    /**
-     * Find the enemy closest to base (highest pathIndex) in range.
-     */
-    private Enemy findTarget(List<Enemy> enemies) {
-        Enemy target = null;
-        double maxPathIndex = -1.0;
+    @Override
+    public int fire(EnemyStore store, double currentTime) {
+        if (!canFire(currentTime)) {
+            return 0;
+        }
         
-        for (Enemy enemy : enemies) {
-            if (enemy.isAlive() && isInRange(enemy)) {
-                if (enemy.getPathIndex() > maxPathIndex) {
-                    maxPathIndex = enemy.getPathIndex();
-                    target = enemy;
-                }
-            }
+        int target = store.findTarget(x, y, targetingRange, true);
+        if (target < 0) {
+            return 0;
         }
         
-        return target;
+        double actualDamage = damageOutput * calculateDistanceDamageMultiplier(store.distanceSquared(target, x, y));
+        store.hit(target, actualDamage);
+        store.applySlowEffect(target, SLOW_DURATION);
+        updateFireTime(currentTime);
+        return 1;
     }
 }
 
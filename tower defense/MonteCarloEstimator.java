@@ -0,0 +1,189 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo Estimator - plays many independent headless games of one
+ * tower layout in parallel and reports win rate, remaining kale savunması,
+ * gold and breaches with 95% confidence intervals.
+ * Games are split recursively over a work-stealing ForkJoinPool, each leaf
+ * plays its games on its own engines and results are merged bottom-up.
+ *
+ * Game i is seeded with baseSeed + i, so an estimate is reproducible
+ * regardless of thread count and work-stealing order.
+ *
+ * Usage: java [-Dtd.seed=N] [-Dtd.eventDriven=true] MonteCarloEstimator [layout] [games] [threads]
+ */
+public class MonteCarloEstimator {
+    private static final int GAMES_PER_LEAF = 4;
+    private static final double Z_95 = 1.96;
+    
+    /**
+     * Running sums for one batch of games; merged when tasks join.
+     */
+    public static class Stats {
+        private int games;
+        private int wins;
+        private int timeouts;
+        private double shieldSum, shieldSqSum;
+        private double goldSum, goldSqSum;
+        private double breachSum, breachSqSum;
+        private long ticks;
+        
+        void add(HeadlessSimulation.Result result) {
+            games++;
+            if (result.outcome == HeadlessSimulation.Outcome.WON) {
+                wins++;
+            } else if (result.outcome == HeadlessSimulation.Outcome.TIMEOUT) {
+                timeouts++;
+            }
+            shieldSum += result.shieldIntegrity;
+            shieldSqSum += (double) result.shieldIntegrity * result.shieldIntegrity;
+            goldSum += result.energyCore;
+            goldSqSum += (double) result.energyCore * result.energyCore;
+            breachSum += result.breaches;
+            breachSqSum += (double) result.breaches * result.breaches;
+            ticks += result.ticks;
+        }
+        
+        void merge(Stats other) {
+            games += other.games;
+            wins += other.wins;
+            timeouts += other.timeouts;
+            shieldSum += other.shieldSum;
+            shieldSqSum += other.shieldSqSum;
+            goldSum += other.goldSum;
+            goldSqSum += other.goldSqSum;
+            breachSum += other.breachSum;
+            breachSqSum += other.breachSqSum;
+            ticks += other.ticks;
+        }
+        
+        public int getGames() { return games; }
+        public int getWins() { return wins; }
+        public int getTimeouts() { return timeouts; }
+        public long getTicks() { return ticks; }
+        public double getWinRate() { return games > 0 ? wins / (double) games : 0.0; }
+        public double getMeanShield() { return mean(shieldSum); }
+        public double getMeanGold() { return mean(goldSum); }
+        public double getMeanBreaches() { return mean(breachSum); }
+        public double getShieldMargin() { return margin(shieldSum, shieldSqSum); }
+        public double getGoldMargin() { return margin(goldSum, goldSqSum); }
+        public double getBreachMargin() { return margin(breachSum, breachSqSum); }
+        
+        /**
+         * Wilson score interval for the win rate: {low, high}.
+         */
+        public double[] getWinRateInterval() {
+            if (games == 0) {
+                return new double[] { 0.0, 0.0 };
+            }
+            double p = getWinRate();
+            double z2 = Z_95 * Z_95;
+            double denom = 1 + z2 / games;
+            double center = (p + z2 / (2.0 * games)) / denom;
+            double half = Z_95 * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / denom;
+            return new double[] { Math.max(0.0, center - half), Math.min(1.0, center + half) };
+        }
+        
+        private double mean(double sum) {
+            return games > 0 ? sum / games : 0.0;
+        }
+        
+        // Half width of the normal 95% interval of the mean
+        private double margin(double sum, double sqSum) {
+            if (games < 2) {
+                return 0.0;
+            }
+            double mean = sum / games;
+            double variance = Math.max(0.0, (sqSum - games * mean * mean) / (games - 1));
+            return Z_95 * Math.sqrt(variance / games);
+        }
+        
+        @Override
+        public String toString() {
+            double[] win = getWinRateInterval();
+            return String.format(
+                    "oyun=%d kazanma=%.1f%% [%.1f%%, %.1f%%] zamanAşımı=%d%n" +
+                    "kale savunması: %.2f ± %.2f%n" +
+                    "altın:          %.2f ± %.2f%n" +
+                    "kaleye ulaşan:  %.2f ± %.2f",
+                    games, getWinRate() * 100, win[0] * 100, win[1] * 100, timeouts,
+                    getMeanShield(), getShieldMargin(),
+                    getMeanGold(), getGoldMargin(),
+                    getMeanBreaches(), getBreachMargin());
+        }
+    }
+    
+    /**
+     * Plays games [from, to), splitting until a leaf holds a few games.
+     */
+    private class GamesTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Stats compute() {
+            if (to - from <= GAMES_PER_LEAF) {
+                Stats stats = new Stats();
+                for (int i = from; i < to; i++) {
+                    GameEngine engine = HeadlessSimulation.createEngine();
+                    engine.setSeed(baseSeed + i);
+                    stats.add(new HeadlessSimulation(engine, layout).run());
+                    engine.close();
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, mid);
+            left.fork();
+            Stats stats = new GamesTask(mid, to).compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+    
+    private final TowerLayout layout;
+    private final ForkJoinPool pool;
+    private final long baseSeed;
+    
+    public MonteCarloEstimator(TowerLayout layout, ForkJoinPool pool, long baseSeed) {
+        this.layout = layout;
+        this.pool = pool;
+        this.baseSeed = baseSeed;
+    }
+    
+    /**
+     * Play the given number of games and return the merged statistics.
+     */
+    public Stats estimate(int games) {
+        return pool.invoke(new GamesTask(0, games));
+    }
+    
+    public static void main(String[] args) {
+        TowerLayout layout = TowerLayout.parse(args.length > 0 ? args[0] : TowerLayout.DEFAULT_LAYOUT);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long baseSeed = GameEngine.seedProperty();
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            Stats stats = new MonteCarloEstimator(layout, pool, baseSeed).estimate(games);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            
+            System.out.println("Düzen: " + layout + " (tohum " + baseSeed + ")");
+            System.out.println(stats);
+            System.out.println(String.format("%.2f s, %d iş parçacığı, %.0f oyun/s, %.0f tick/s",
+                    seconds, threads, games / seconds, stats.getTicks() / seconds));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,12 +1,30 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Path class representing the enemy movement path.
+ *
+ * The Catmull-Rom curve is baked into an arc-length lookup table when the
+ * path is built. pathIndex (0.0 .. waypoints.size()-1) is mapped linearly
+ * onto the curve's length, so equal pathIndex steps are equal distances
+ * and position lookups are O(1) without allocating.
  */
 public class Path {
+    // Spline örnekleme sayısı (segment başına) ve tablo adımı (piksel)
+    private static final int SAMPLES_PER_SEGMENT = 64;
+    private static final double TABLE_STEP = 1.0;
+
     private List<Point> waypoints;
 
+    // Yay uzunluğu tablosu: eşit aralıklı mesafelerdeki konumlar
+    private double arcLength;
+    private double[] tableX;
+    private double[] tableY;
+    private double indexToTable; // pathIndex -> tablo indeksi
+
+    private static Path bakedDefault; // First built-in path: its (read-only) table is shared by the rest
+
     public static class Point {
         public double x;
         public double y;
@@ -44,6 +62,19 @@ public class Path {
 
         // Son nokta (base)
         waypoints.add(new Point(700, 180));
+
+        // Every engine builds this same path; bake it once per JVM
+        synchronized (Path.class) {
+            if (bakedDefault == null) {
+                bakeArcLengthTable();
+                bakedDefault = this;
+            } else {
+                arcLength = bakedDefault.arcLength;
+                tableX = bakedDefault.tableX;
+                tableY = bakedDefault.tableY;
+                indexToTable = bakedDefault.indexToTable;
+            }
+        }
     }
 
     public List<Point> getWaypoints() {
@@ -65,12 +96,184 @@ public class Path {
         return waypoints.get(waypoints.size() - 1);
     }
 
+    /**
+     * Total length of the curve in pixels.
+     */
+    public double getArcLength() {
+        return arcLength;
+    }
+
+    /**
+     * Pixels covered by one pathIndex unit.
+     */
+    public double getDistancePerIndex() {
+        return waypoints.size() > 1 ? arcLength / (waypoints.size() - 1) : 0.0;
+    }
+
+    /**
+     * X coordinate at pathIndex (table lookup, no allocation).
+     */
+    public double getX(double pathIndex) {
+        return lookup(tableX, pathIndex);
+    }
+
+    /**
+     * Y coordinate at pathIndex (table lookup, no allocation).
+     */
+    public double getY(double pathIndex) {
+        return lookup(tableY, pathIndex);
+    }
+
+    /**
+     * pathIndex intervals where the path comes within radius of (cx, cy),
+     * as ascending {from0, to0, from1, to1, ...}. Conservative: every table
+     * segment that touches the circle is included whole, so callers still
+     * check the exact distance. Intervals touching the ends of the path are
+     * open-ended, because positions are clamped there.
+     */
+    public double[] coverage(double cx, double cy, double radius) {
+        double radiusSq = radius * radius * (1.0 + 1e-9); // lerp rounding must not drop an enemy
+        double[] intervals = new double[8];
+        int count = 0;
+        int last = tableX.length - 1;
+        if (last < 1 || indexToTable == 0.0) {
+            double dx = tableX[0] - cx;
+            double dy = tableY[0] - cy;
+            if (dx * dx + dy * dy <= radiusSq) {
+                return new double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY };
+            }
+            return new double[0];
+        }
+        double pad = 1e-9; // segment edges in pathIndex units are rounded
+        double spacing = arcLength / last; // table points are at most this far apart
+        int runStart = -1;
+        for (int i = 0; i <= last; i++) {
+            boolean covered = false;
+            int skip = 0;
+            if (i < last) {
+                // Far outside (or deep inside) the circle, so are the next segments
+                double dx = tableX[i] - cx;
+                double dy = tableY[i] - cy;
+                double gap = Math.sqrt(dx * dx + dy * dy) - Math.sqrt(radiusSq);
+                if (Math.abs(gap) > 3 * spacing) {
+                    skip = Math.min((int) (Math.abs(gap) / spacing) - 2, last - 1 - i);
+                    covered = gap < 0;
+                } else {
+                    covered = segmentDistanceSq(i, cx, cy) <= radiusSq;
+                }
+            }
+            if (covered && runStart < 0) {
+                runStart = i;
+            } else if (!covered && runStart >= 0) {
+                if (count + 2 > intervals.length) {
+                    intervals = Arrays.copyOf(intervals, intervals.length * 2);
+                }
+                intervals[count++] = runStart == 0 ? Double.NEGATIVE_INFINITY : runStart / indexToTable - pad;
+                intervals[count++] = i == last ? Double.POSITIVE_INFINITY : i / indexToTable + pad;
+                runStart = -1;
+            }
+            i += skip;
+        }
+        return Arrays.copyOf(intervals, count);
+    }
+
+    // Squared distance from (cx, cy) to table segment i .. i+1
+    private double segmentDistanceSq(int i, double cx, double cy) {
+        double ax = tableX[i];
+        double ay = tableY[i];
+        double sx = tableX[i + 1] - ax;
+        double sy = tableY[i + 1] - ay;
+        double lengthSq = sx * sx + sy * sy;
+        double t = lengthSq > 0 ? ((cx - ax) * sx + (cy - ay) * sy) / lengthSq : 0.0;
+        t = Math.max(0.0, Math.min(1.0, t));
+        double dx = ax + sx * t - cx;
+        double dy = ay + sy * t - cy;
+        return dx * dx + dy * dy;
+    }
+
+    private double lookup(double[] table, double pathIndex) {
+        double f = pathIndex * indexToTable;
+        int last = table.length - 1;
+        if (f <= 0.0) {
+            return table[0];
+        }
+        if (f >= last) {
+            return table[last];
+        }
+        int i = (int) f;
+        double t = f - i;
+        return table[i] + (table[i + 1] - table[i]) * t;
+    }
+
+    /**
+     * Spline'ı yoğun örnekleyip yay uzunluğuna göre eşit aralıklı tabloya çevir.
+     */
+    private void bakeArcLengthTable() {
+        int segments = waypoints.size() - 1;
+        if (segments < 1) {
+            Point only = waypoints.isEmpty() ? new Point(0, 0) : waypoints.get(0);
+            arcLength = 0.0;
+            tableX = new double[] { only.x };
+            tableY = new double[] { only.y };
+            indexToTable = 0.0;
+            return;
+        }
+
+        // 1) Spline örnekleri ve kümülatif uzunluk
+        int samples = segments * SAMPLES_PER_SEGMENT + 1;
+        double[] sx = new double[samples];
+        double[] sy = new double[samples];
+        double[] sd = new double[samples];
+        for (int k = 0; k < samples; k++) {
+            Point p = splinePosition(k / (double) SAMPLES_PER_SEGMENT);
+            sx[k] = p.x;
+            sy[k] = p.y;
+            if (k > 0) {
+                double dx = sx[k] - sx[k - 1];
+                double dy = sy[k] - sy[k - 1];
+                sd[k] = sd[k - 1] + Math.sqrt(dx * dx + dy * dy);
+            }
+        }
+        arcLength = sd[samples - 1];
+
+        // 2) Eşit mesafe adımlarında konumlar
+        int size = Math.max(2, (int) Math.ceil(arcLength / TABLE_STEP) + 1);
+        double step = arcLength / (size - 1);
+        tableX = new double[size];
+        tableY = new double[size];
+        int k = 0;
+        for (int j = 0; j < size; j++) {
+            double d = j * step;
+            while (k < samples - 2 && sd[k + 1] < d) {
+                k++;
+            }
+            double span = sd[k + 1] - sd[k];
+            double t = span > 0 ? (d - sd[k]) / span : 0.0;
+            t = Math.max(0.0, Math.min(1.0, t));
+            tableX[j] = sx[k] + (sx[k + 1] - sx[k]) * t;
+            tableY[j] = sy[k] + (sy[k + 1] - sy[k]) * t;
+        }
+        indexToTable = (size - 1) / (double) segments;
+    }
+
+    /**
+     * Position at pathIndex on the arc-length table.
+     * Allocates a Point; hot loops should use getX/getY instead.
+     */
+    public Point getPosition(double pathIndex) {
+        if (waypoints.isEmpty()) {
+            return null;
+        }
+        return new Point(getX(pathIndex), getY(pathIndex));
+    }
+
     /**
      * Daha eliptik / yumuşak geçişler için:
      * pathIndex: 0.0 .. (waypoints.size()-1)
      * Aralarda Catmull-Rom spline ile interpolate ediyoruz.
+     * (Spline parametresi; yalnızca tabloyu oluştururken ve benchmark'larda kullanılır.)
      */
-    public Point getPosition(double pathIndex) {
+    Point splinePosition(double pathIndex) {
         if (waypoints.isEmpty()) {
             return null;
         }
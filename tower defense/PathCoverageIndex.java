@@ -0,0 +1,188 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path Coverage Index - enemies ordered by pathIndex for "first enemy in
+ * range" targeting. Enemies only ever stand on the Path, so the part of
+ * the path inside a tower's range is a fixed set of pathIndex intervals
+ * (Path.coverage), computed once when the tower is placed. Finding the
+ * target is then a binary search for the highest pathIndex inside those
+ * intervals instead of a scan over every enemy near the tower.
+ *
+ * Ground and flying enemies are kept in separate views, so CannonTower
+ * never walks past flyers. GameEngine rebuilds the index once per tick
+ * after enemies move. The order from the previous tick is kept and only
+ * repaired (insertion sort), so a rebuild costs O(n) plus the overtakes
+ * since the last tick.
+ *
+ * Targets are the same as a linear scan: the interval edges are only
+ * conservative, every candidate gets the exact range check, and equal
+ * pathIndex ties go to the enemy spawned first (earliest in the list).
+ */
+public class PathCoverageIndex {
+    
+    /**
+     * One sorted view: enemies by pathIndex descending, then spawn order.
+     */
+    private static final class View {
+        private Enemy[] items = new Enemy[64];
+        private double[] keys = new double[64]; // pathIndex at the last rebuild
+        private long[] order = new long[64];    // spawn sequence, breaks ties
+        private int size;
+        
+        void add(Enemy enemy, long sequence) {
+            if (size == items.length) {
+                int capacity = size * 2;
+                items = Arrays.copyOf(items, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+                order = Arrays.copyOf(order, capacity);
+            }
+            items[size] = enemy;
+            keys[size] = enemy.getPathIndex();
+            order[size] = sequence;
+            size++;
+        }
+        
+        /**
+         * Drop enemies that are gone, refresh the keys and restore the order.
+         */
+        void rebuild() {
+            int alive = 0;
+            for (int i = 0; i < size; i++) {
+                Enemy enemy = items[i];
+                if (!enemy.isAlive()) {
+                    continue;
+                }
+                double key = enemy.getPathIndex();
+                long sequence = order[i];
+                // Insertion sort: nearly sorted since the last tick
+                int j = alive;
+                while (j > 0 && before(key, sequence, keys[j - 1], order[j - 1])) {
+                    items[j] = items[j - 1];
+                    keys[j] = keys[j - 1];
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                items[j] = enemy;
+                keys[j] = key;
+                order[j] = sequence;
+                alive++;
+            }
+            for (int i = alive; i < size; i++) {
+                items[i] = null; // no stale references
+            }
+            size = alive;
+        }
+        
+        void clear() {
+            Arrays.fill(items, 0, size, null);
+            size = 0;
+        }
+        
+        /**
+         * Position of the best alive enemy in range, or -1.
+         */
+        int find(double[] coverage, double x, double y, double rangeSq) {
+            for (int k = coverage.length - 2; k >= 0; k -= 2) {
+                double from = coverage[k];
+                double to = coverage[k + 1];
+                for (int i = firstAtOrBelow(to); i < size && keys[i] >= from; i++) {
+                    Enemy enemy = items[i];
+                    double dx = enemy.getX() - x;
+                    double dy = enemy.getY() - y;
+                    if (enemy.isAlive() && dx * dx + dy * dy <= rangeSq) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+        
+        // First position whose key is <= value (keys are descending)
+        private int firstAtOrBelow(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] > value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+    
+    private final Path path;
+    private final View ground = new View();
+    private final View flying = new View();
+    private long nextSequence;
+    
+    public PathCoverageIndex(Path path) {
+        this.path = path;
+    }
+    
+    public int size() { return ground.size + flying.size; }
+    
+    /**
+     * pathIndex intervals a tower at (x, y) with the given range covers.
+     */
+    public double[] coverage(double x, double y, double range) {
+        return path.coverage(x, y, range);
+    }
+    
+    /**
+     * Add a newly spawned enemy (enemies must be added in list order).
+     */
+    public void add(Enemy enemy) {
+        (enemy.isFlying() ? flying : ground).add(enemy, nextSequence++);
+    }
+    
+    /**
+     * Replace the contents with the given enemies, in list order.
+     */
+    public void reset(List<Enemy> enemies) {
+        clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            add(enemies.get(i));
+        }
+    }
+    
+    public void clear() {
+        ground.clear();
+        flying.clear();
+        nextSequence = 0;
+    }
+    
+    /**
+     * Re-sort by the current pathIndex values and drop dead enemies.
+     */
+    public void rebuild() {
+        ground.rebuild();
+        flying.rebuild();
+    }
+    
+    /**
+     * The alive enemy with the highest pathIndex within range of (x, y)
+     * whose position lies in coverage, or null. Same result as scanning
+     * every enemy with Tower.isInRange.
+     */
+    public Enemy findTarget(double[] coverage, double x, double y, double range, boolean targetFlying) {
+        double rangeSq = range * range;
+        int g = ground.find(coverage, x, y, rangeSq);
+        int f = targetFlying ? flying.find(coverage, x, y, rangeSq) : -1;
+        if (f < 0) {
+            return g < 0 ? null : ground.items[g];
+        }
+        if (g < 0 || before(flying.keys[f], flying.order[f], ground.keys[g], ground.order[g])) {
+            return flying.items[f];
+        }
+        return ground.items[g];
+    }
+    
+    // Target order: higher pathIndex first, then earlier spawn
+    private static boolean before(double key, long sequence, double otherKey, long otherSequence) {
+        return key > otherKey || (key == otherKey && sequence < otherSequence);
+    }
+}
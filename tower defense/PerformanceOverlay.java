@@ -0,0 +1,209 @@
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Performance Overlay - in-game profiler HUD, toggled with F3 in GameGUI.
+ * Shows FPS, a rolling frame-time graph, the time of each draw stage of
+ * the frame, the simulation tick time (from EngineMetrics), GC count/time
+ * and heap usage, plus paint errors that renderFrame would otherwise only
+ * print.
+ *
+ * While hidden, a frame costs one volatile read: no clock reads and no
+ * samples. Everything except toggle() runs on the thread that renders.
+ */
+public class PerformanceOverlay {
+    // Draw stages of GameGUI.renderFrame (background, path and base are the cached scenery layer)
+    public static final int SCENERY = 0;
+    public static final int TOWERS = 1;
+    public static final int ENEMIES = 2;
+    public static final int UI = 3;
+    private static final String[] STAGE_NAMES = { "drawScenery", "drawTowers", "drawEnemies", "drawUI" };
+    
+    private static final int HISTORY = 120; // frames in the graph and the averages
+    private static final long SAMPLE_INTERVAL_NANOS = 500_000_000L; // GC and heap
+    private static final double BUDGET_MILLIS = 1000.0 / GameEngine.TICK_RATE;
+    private static final double GRAPH_MAX_MILLIS = 2 * BUDGET_MILLIS;
+    
+    private static final Color PANEL = new Color(0, 0, 0, 180);
+    private static final Color TEXT = new Color(230, 230, 230);
+    private static final Color GOOD = new Color(80, 220, 80);
+    private static final Color BAD = new Color(240, 70, 60);
+    private static final Color BUDGET_LINE = new Color(255, 220, 0, 160);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    
+    private volatile boolean enabled;
+    private boolean active; // enabled as of the last frame (render thread)
+    
+    private final long[] frameNanos = new long[HISTORY];
+    private final long[][] stageNanos = new long[STAGE_NAMES.length][HISTORY];
+    private int cursor;  // slot of the current frame
+    private int samples; // filled slots, up to HISTORY
+    private long frameStart;
+    
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private long lastSample;
+    private long gcCount, gcMillis;
+    private long heapUsed, heapMax;
+    
+    private volatile long paintErrors;
+    private volatile String lastPaintError;
+    
+    public boolean isEnabled() { return enabled; }
+    
+    /**
+     * Show or hide the overlay (any thread).
+     */
+    public void toggle() {
+        enabled = !enabled;
+    }
+    
+    /**
+     * A frame starts. Returns whether it should be profiled; when not, no
+     * other profiling call should be made for this frame.
+     */
+    public boolean beginFrame() {
+        if (!enabled) {
+            active = false;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (!active) {
+            // Shown again: start the history over
+            active = true;
+            samples = 0;
+            cursor = 0;
+        } else {
+            frameNanos[cursor] = now - frameStart;
+            cursor = (cursor + 1) % HISTORY;
+            samples = Math.min(HISTORY, samples + 1);
+        }
+        for (long[] stage : stageNanos) {
+            stage[cursor] = 0;
+        }
+        frameStart = now;
+        return true;
+    }
+    
+    /**
+     * Time the given draw stage took in this frame.
+     */
+    public void recordStage(int stage, long nanos) {
+        stageNanos[stage][cursor] += nanos;
+    }
+    
+    /**
+     * Count an exception renderFrame swallowed (recorded while hidden too).
+     */
+    public void recordError(Exception ex) {
+        paintErrors++;
+        lastPaintError = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+    }
+    
+    /**
+     * Draw the overlay with its top-left corner at (x, y).
+     */
+    public void draw(Graphics2D g2d, EngineMetrics metrics, int x, int y) {
+        sampleRuntime();
+        int width = 260;
+        int lineHeight = 13;
+        int lines = 5 + STAGE_NAMES.length + (paintErrors > 0 ? 1 : 0);
+        int graphHeight = 40;
+        int height = lines * lineHeight + graphHeight + 20;
+        
+        g2d.setColor(PANEL);
+        g2d.fillRect(x, y, width, height);
+        g2d.setFont(FONT);
+        
+        double frameMean = mean(frameNanos) / 1e6;
+        int line = y + 4 + lineHeight;
+        g2d.setColor(frameMean > BUDGET_MILLIS * 1.1 ? BAD : GOOD);
+        g2d.drawString(String.format("FPS %5.1f  kare %5.2f  maks %5.2f ms",
+                frameMean > 0 ? 1000.0 / frameMean : 0.0, frameMean, max(frameNanos) / 1e6), x + 6, line);
+        
+        // Rolling frame-time graph, newest on the right, with the 60 Hz budget line
+        int graphTop = line + 6;
+        int graphBottom = graphTop + graphHeight;
+        for (int i = 0; i < samples; i++) {
+            int slot = (cursor - samples + i + HISTORY) % HISTORY;
+            double millis = frameNanos[slot] / 1e6;
+            int barHeight = (int) Math.min(graphHeight, millis / GRAPH_MAX_MILLIS * graphHeight);
+            g2d.setColor(millis > BUDGET_MILLIS * 1.1 ? BAD : GOOD);
+            g2d.fillRect(x + 6 + (HISTORY - samples + i) * 2, graphBottom - barHeight, 2, barHeight);
+        }
+        int budgetY = graphBottom - (int) (BUDGET_MILLIS / GRAPH_MAX_MILLIS * graphHeight);
+        g2d.setColor(BUDGET_LINE);
+        g2d.drawLine(x + 6, budgetY, x + 6 + HISTORY * 2, budgetY);
+        line = graphBottom + 4;
+        
+        g2d.setColor(TEXT);
+        line += lineHeight;
+        g2d.drawString("aşama          ort ms   maks ms", x + 6, line);
+        for (int s = 0; s < STAGE_NAMES.length; s++) {
+            line += lineHeight;
+            g2d.drawString(String.format("%-12s %7.3f  %8.3f",
+                    STAGE_NAMES[s], mean(stageNanos[s]) / 1e6, max(stageNanos[s]) / 1e6), x + 6, line);
+        }
+        
+        line += lineHeight;
+        if (metrics != null) {
+            g2d.drawString(String.format("tick %7.1f us  p99 %7.1f us",
+                    metrics.getLastTickMicros(), metrics.getTickP99Micros()), x + 6, line);
+        } else {
+            g2d.drawString("tick: metrikler kapalı (-Dtd.metrics)", x + 6, line);
+        }
+        line += lineHeight;
+        g2d.drawString(String.format("GC %d kez, %d ms", gcCount, gcMillis), x + 6, line);
+        line += lineHeight;
+        g2d.drawString(String.format("heap %d / %d MB", heapUsed >> 20, heapMax >> 20), x + 6, line);
+        if (paintErrors > 0) {
+            line += lineHeight;
+            g2d.setColor(BAD);
+            g2d.drawString("hata " + paintErrors + ": " + lastPaintError, x + 6, line);
+        }
+    }
+    
+    // GC and heap beans are read twice a second, not every frame
+    private void sampleRuntime() {
+        long now = System.nanoTime();
+        if (lastSample != 0 && now - lastSample < SAMPLE_INTERVAL_NANOS) {
+            return;
+        }
+        lastSample = now;
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        gcCount = count;
+        gcMillis = millis;
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        heapUsed = heap.getUsed();
+        heapMax = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+    }
+    
+    // Completed frames only: the current slot is still being filled
+    private double mean(long[] values) {
+        if (samples == 0) {
+            return 0.0;
+        }
+        long sum = 0;
+        for (int i = 1; i <= samples; i++) {
+            sum += values[(cursor - i + HISTORY) % HISTORY];
+        }
+        return sum / (double) samples;
+    }
+    
+    private long max(long[] values) {
+        long max = 0;
+        for (int i = 1; i <= samples; i++) {
+            max = Math.max(max, values[(cursor - i + HISTORY) % HISTORY]);
+        }
+        return max;
+    }
+}
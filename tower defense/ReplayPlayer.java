@@ -0,0 +1,205 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Replay Player - re-simulates a replay written by ReplayRecorder on a
+ * headless GameEngine as fast as the CPU allows. Commands are applied at
+ * the tick they were recorded at, between updates, with the same driver
+ * loop as GameGUI (update, then startNextWaveIfCleared), so the seeded
+ * engine reproduces the recorded session exactly. The engine modes
+ * (list or EnemyStore, one-by-one or two-phase towers) are taken from the
+ * replay. A replay whose recorder was killed has no END record and may
+ * stop inside a record (ReplayRecorder buffers its writes); it plays up to
+ * the last whole command.
+ *
+ * Usage: java ReplayPlayer replay.tdr
+ */
+public class ReplayPlayer {
+    private int count;
+    private int[] opcodes = new int[32];
+    private long[] ticks = new long[32];
+    private long[] seeds = new long[32];
+    private int[] modes = new int[32];
+    private int[] towerKinds = new int[32];
+    private double[] towerX = new double[32];
+    private double[] towerY = new double[32];
+    private int[] endState; // shield, gold, wave, breaches (null if the replay was cut off)
+    
+    public ReplayPlayer(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != ReplayRecorder.MAGIC) {
+            throw new IOException("Tekrar dosyası değil");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IOException("Desteklenmeyen tekrar sürümü: " + version);
+        }
+        
+        while (true) {
+            int opcode = in.read();
+            if (opcode < 0) {
+                break; // no END record: the recording process was killed
+            }
+            if (count == opcodes.length) {
+                grow();
+            }
+            try {
+                opcodes[count] = opcode;
+                ticks[count] = readVarint(in);
+                if (opcode == ReplayRecorder.NEW_GAME) {
+                    seeds[count] = in.readLong();
+                    modes[count] = in.readUnsignedByte();
+                } else if (opcode == ReplayRecorder.PLACE_TOWER) {
+                    towerKinds[count] = in.readUnsignedByte();
+                    towerX[count] = in.readDouble();
+                    towerY[count] = in.readDouble();
+                } else if (opcode == ReplayRecorder.END) {
+                    endState = new int[] {
+                        (int) readVarint(in), (int) readVarint(in), (int) readVarint(in), (int) readVarint(in)
+                    };
+                } else if (opcode != ReplayRecorder.START_WAVE) {
+                    throw new IOException("Bilinmeyen tekrar komutu: " + opcode);
+                }
+            } catch (EOFException e) {
+                break; // the last record was cut off mid-write: drop it, as if the recording ended before it
+            }
+            count++;
+            if (opcode == ReplayRecorder.END) {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Load a replay file.
+     */
+    public static ReplayPlayer load(String filePath) throws IOException {
+        try (InputStream in = new FileInputStream(filePath)) {
+            return new ReplayPlayer(in);
+        }
+    }
+    
+    public int getCommandCount() { return count; }
+    public boolean hasEndState() { return endState != null; }
+    
+    /**
+     * Re-run every recorded command on the engine. The engine is left in
+     * the state the recorded session ended in.
+     */
+    public void play(GameEngine engine) {
+        int next = 0;
+        while (next < count) {
+            // Apply every command issued before the engine's next update
+            while (next < count && ticks[next] == engine.getTickCount()
+                    && opcodes[next] != ReplayRecorder.END) {
+                apply(engine, next++);
+            }
+            if (next == count || opcodes[next] == ReplayRecorder.END && ticks[next] == engine.getTickCount()) {
+                break;
+            }
+            if (ticks[next] < engine.getTickCount() || !engine.isGameRunning()) {
+                throw new IllegalStateException("Tekrar senkronu bozuldu: komut " + next
+                        + " tick " + ticks[next] + ", motor tick " + engine.getTickCount());
+            }
+            engine.update(GameEngine.DELTA_TIME);
+            engine.startNextWaveIfCleared();
+        }
+    }
+    
+    /**
+     * True if the engine ended in the state stored in the END record.
+     */
+    public boolean matchesEndState(GameEngine engine) {
+        return endState != null
+                && engine.getPlayerShieldIntegrity() == endState[0]
+                && engine.getEnergyCore() == endState[1]
+                && engine.getCurrentWave() == endState[2]
+                && engine.getBreachCount() == endState[3];
+    }
+    
+    private void apply(GameEngine engine, int i) {
+        switch (opcodes[i]) {
+            case ReplayRecorder.NEW_GAME:
+                engine.setSeed(seeds[i]);
+                engine.setEnemyStoreEnabled((modes[i] & ReplayRecorder.MODE_ENEMY_STORE) != 0);
+                engine.setTwoPhaseTowers((modes[i] & ReplayRecorder.MODE_TWO_PHASE_TOWERS) != 0);
+                engine.initializeGame();
+                break;
+            case ReplayRecorder.START_WAVE:
+                engine.startNextWave();
+                break;
+            case ReplayRecorder.PLACE_TOWER:
+                engine.placeTower(createTower(towerKinds[i], towerX[i], towerY[i]));
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private static Tower createTower(int kind, double x, double y) {
+        switch (kind) {
+            case FrameSnapshot.CANNON:
+                return new CannonTower(x, y);
+            case FrameSnapshot.ICE:
+                return new IceTower(x, y);
+            default:
+                return new ArcherTower(x, y);
+        }
+    }
+    
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Bozuk varint");
+    }
+    
+    private void grow() {
+        int capacity = opcodes.length * 2;
+        opcodes = Arrays.copyOf(opcodes, capacity);
+        ticks = Arrays.copyOf(ticks, capacity);
+        seeds = Arrays.copyOf(seeds, capacity);
+        modes = Arrays.copyOf(modes, capacity);
+        towerKinds = Arrays.copyOf(towerKinds, capacity);
+        towerX = Arrays.copyOf(towerX, capacity);
+        towerY = Arrays.copyOf(towerY, capacity);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Kullanım: java ReplayPlayer <tekrar.tdr>");
+            System.exit(2);
+        }
+        ReplayPlayer replay = load(args[0]);
+        GameEngine engine = HeadlessSimulation.createEngine();
+        
+        long start = System.nanoTime();
+        replay.play(engine);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        engine.close();
+        
+        System.out.println(String.format("%d komut, tohum %d, %d tick, %.3f s",
+                replay.getCommandCount(), engine.getSeed(), engine.getTickCount(), seconds));
+        System.out.println(String.format("dalga=%d kale=%d altın=%d kaleye ulaşan=%d",
+                engine.getCurrentWave(), engine.getPlayerShieldIntegrity(), engine.getEnergyCore(),
+                engine.getBreachCount()));
+        if (!replay.hasEndState()) {
+            System.out.println("Kayıt sonu yok (oturum yarıda kesilmiş)");
+        } else if (replay.matchesEndState(engine)) {
+            System.out.println("Kaydedilen sonuçla eşleşti");
+        } else {
+            System.out.println("UYUŞMAZLIK: kaydedilen sonuç farklı");
+            System.exit(1);
+        }
+    }
+}
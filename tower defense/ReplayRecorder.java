@@ -0,0 +1,137 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Replay Recorder - writes the seed and every player command of a session
+ * into a compact binary replay. Together with the seed the commands are
+ * enough to re-simulate the whole session (see ReplayPlayer), so a bug or
+ * balance report is a few hundred bytes instead of the text log.
+ *
+ * Format: magic "TDRP", version byte, then one record per command:
+ * opcode byte, tick (varint, GameEngine tick count when the command was
+ * issued), payload. NEW_GAME carries the seed and engine mode, PLACE_TOWER
+ * the tower kind and position, END the final state used to verify a
+ * playback.
+ */
+public class ReplayRecorder implements AutoCloseable {
+    static final int MAGIC = 0x54445250; // "TDRP"
+    static final int VERSION = 3; // 2: waves spawn over time (SpawnSchedule), 3: slows expire on a timer wheel
+    
+    // Opcodes
+    static final int NEW_GAME = 1;    // long seed, byte mode flags
+    static final int START_WAVE = 2;
+    static final int PLACE_TOWER = 3; // byte kind, double x, double y
+    static final int END = 4;         // varint shield, gold, wave, breaches
+    
+    // NEW_GAME mode flags (both change results, so a replay must use the same modes)
+    static final int MODE_ENEMY_STORE = 1;
+    static final int MODE_TWO_PHASE_TOWERS = 2;
+    
+    private final DataOutputStream out;
+    private boolean failed;
+    
+    public ReplayRecorder(OutputStream stream) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+    
+    /**
+     * Open a recorder writing to a new file.
+     */
+    public static ReplayRecorder open(String filePath) throws IOException {
+        return new ReplayRecorder(new FileOutputStream(filePath));
+    }
+    
+    public void newGame(long tick, long seed, boolean enemyStore, boolean twoPhaseTowers) {
+        if (failed) {
+            return;
+        }
+        try {
+            writeHeader(NEW_GAME, tick);
+            out.writeLong(seed);
+            out.writeByte((enemyStore ? MODE_ENEMY_STORE : 0) | (twoPhaseTowers ? MODE_TWO_PHASE_TOWERS : 0));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    public void startWave(long tick) {
+        if (failed) {
+            return;
+        }
+        try {
+            writeHeader(START_WAVE, tick);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    public void placeTower(long tick, Tower tower) {
+        if (failed) {
+            return;
+        }
+        try {
+            writeHeader(PLACE_TOWER, tick);
+            out.writeByte(FrameSnapshot.towerKindOf(tower));
+            out.writeDouble(tower.getX());
+            out.writeDouble(tower.getY());
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    /**
+     * Write the END record with the final state and close the replay.
+     */
+    public void finish(long tick, int shieldIntegrity, int energyCore, int wave, int breaches) {
+        if (failed) {
+            close();
+            return;
+        }
+        try {
+            writeHeader(END, tick);
+            writeVarint(shieldIntegrity);
+            writeVarint(energyCore);
+            writeVarint(wave);
+            writeVarint(breaches);
+        } catch (IOException e) {
+            fail(e);
+        }
+        close();
+    }
+    
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private void writeHeader(int opcode, long tick) throws IOException {
+        out.writeByte(opcode);
+        writeVarint(tick);
+    }
+    
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    
+    // Recording must never break the game; report once and stop writing
+    private void fail(IOException e) {
+        if (!failed) {
+            failed = true;
+            System.err.println("Tekrar kaydı yazılamadı: " + e.getMessage());
+        }
+    }
+}
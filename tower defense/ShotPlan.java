@@ -0,0 +1,46 @@
+import java.util.Arrays;
+
+/**
+ * Shot Plan - what one tower's shot will do this tick, worked out without
+ * touching any enemy: the enemies it hits with the raw damage for each
+ * (before armor), and the slow it applies to them. Tower.fire aims and
+ * applies its plan at once; phase 1 of GameEngine's two-phase tower update
+ * fills one plan per ready tower, possibly on many threads, and phase 2
+ * applies the plans in tower order.
+ *
+ * Each tower owns its plan and reuses it every tick.
+ */
+public class ShotPlan {
+    private Enemy[] targets = new Enemy[4];
+    private double[] damage = new double[4];
+    private double slowDuration; // seconds, 0 = no slow
+    private int size;
+    
+    public int size() { return size; }
+    public Enemy getTarget(int i) { return targets[i]; }
+    public double getDamage(int i) { return damage[i]; }
+    public double getSlowDuration() { return slowDuration; }
+    
+    public void clear() {
+        Arrays.fill(targets, 0, size, null); // no stale references
+        size = 0;
+        slowDuration = 0.0;
+    }
+    
+    /**
+     * Plan a hit on enemy with the given raw damage.
+     */
+    public void add(Enemy enemy, double rawDamage) {
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            damage = Arrays.copyOf(damage, size * 2);
+        }
+        targets[size] = enemy;
+        damage[size] = rawDamage;
+        size++;
+    }
+    
+    public void setSlowDuration(double seconds) {
+        this.slowDuration = seconds;
+    }
+}
@@ -0,0 +1,195 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulation Loop - runs GameEngine on its own thread with a fixed-timestep
+ * accumulator, so the game clock no longer depends on how long the EDT
+ * takes to paint or handle input.
+ *
+ * Real elapsed time is added to an accumulator and drained in whole
+ * DELTA_TIME ticks. After a stall (GC pause, debugger, sleeping laptop) at
+ * most MAX_CATCH_UP_TICKS are run back to back; the rest of the backlog is
+ * dropped, so the game slows down briefly instead of spiralling.
+ *
+ * A time scale (setTimeScale, 1x to 16x) speeds the game clock up without
+ * changing the step: the accumulator fills scale times faster and is still
+ * drained in DELTA_TIME ticks, so a fast-forwarded game plays out exactly
+ * as at 1x. The ticks of one frame run as an engine tick batch, so the
+ * renderer gets one snapshot per frame rather than one per tick. Stepping
+ * gets WORK_BUDGET_NANOS of each frame; past that the loop only merges
+ * ticks in which enemies just walk (GameEngine.skipTicks, exact as well),
+ * and if the backlog still grows the game runs slower than asked.
+ *
+ * The engine is only touched by the simulation thread while the loop runs.
+ * Other threads hand it work through submit(); commands run between ticks,
+ * so they see the same tick boundaries as in the EDT-driven game and in
+ * replays. The renderer reads the published FrameSnapshots lock-free.
+ */
+public class SimulationLoop implements Runnable {
+    public static final int MAX_CATCH_UP_TICKS = 5; // per frame at 1x, scaled with the time scale
+    public static final int MAX_TIME_SCALE = 16;
+    
+    private static final long TICK_NANOS = (long) (1e9 / GameEngine.TICK_RATE);
+    private static final long WORK_BUDGET_NANOS = TICK_NANOS / 2; // stepping time per frame
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+    
+    private final GameEngine engine;
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    
+    private volatile boolean running;
+    private Thread thread; // set from start until stop has seen it end; guarded by this
+    private volatile long droppedTicks; // written by the simulation thread only
+    private volatile long mergedTicks;  // written by the simulation thread only
+    private volatile int timeScale = 1;
+    
+    public SimulationLoop(GameEngine engine) {
+        this.engine = engine;
+    }
+    
+    public long getTickNanos() { return TICK_NANOS; }
+    public long getDroppedTicks() { return droppedTicks; }
+    public long getMergedTicks() { return mergedTicks; }
+    public boolean isRunning() { return running; }
+    public int getTimeScale() { return timeScale; }
+    
+    /**
+     * Run the game clock at the given multiple of real time (1 to
+     * MAX_TIME_SCALE; any thread). Takes effect from the next frame.
+     */
+    public void setTimeScale(int scale) {
+        timeScale = Math.max(1, Math.min(MAX_TIME_SCALE, scale));
+    }
+    
+    /**
+     * Run a command on the simulation thread before the next tick
+     * (immediately on the caller if there is no simulation thread). While
+     * the loop is stopping commands are still queued: stop runs them once
+     * the thread has ended, so none is lost and none runs beside a tick.
+     */
+    public void submit(Runnable command) {
+        synchronized (this) {
+            if (thread != null) {
+                commands.add(command);
+                return;
+            }
+        }
+        command.run();
+    }
+    
+    /**
+     * Start the simulation thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (thread != null) {
+            throw new IllegalStateException("Simülasyon iş parçacığı hâlâ durduruluyor");
+        }
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Stop the simulation thread and wait for the current tick to finish.
+     * Commands still queued are then run on the caller. If the thread does
+     * not end within STOP_TIMEOUT_MILLIS the engine may still be in use, so
+     * nothing is run and IllegalStateException is thrown.
+     */
+    public void stop() {
+        Thread simulation;
+        synchronized (this) {
+            running = false;
+            simulation = thread;
+        }
+        if (simulation != null) {
+            // Not holding the lock: a command on the simulation thread may submit
+            LockSupport.unpark(simulation);
+            try {
+                simulation.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (simulation.isAlive()) {
+                throw new IllegalStateException("Simülasyon iş parçacığı " + STOP_TIMEOUT_MILLIS
+                        + " ms içinde durmadı; " + commands.size() + " komut çalıştırılmadı");
+            }
+        }
+        synchronized (this) {
+            if (thread == simulation) {
+                thread = null;
+            }
+            runCommands(); // submit queues until thread is null, so this sees every command
+        }
+    }
+    
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0; // game time owed, in nanoseconds
+        
+        while (running) {
+            int scale = timeScale;
+            long now = System.nanoTime();
+            accumulator += (now - previous) * scale;
+            previous = now;
+            
+            runCommands();
+            
+            long budgetEnd = now + WORK_BUDGET_NANOS;
+            int maxTicks = MAX_CATCH_UP_TICKS * scale;
+            int ticks = 0;
+            engine.beginTickBatch();
+            while (accumulator >= TICK_NANOS && ticks < maxTicks) {
+                int advanced = 1;
+                if (System.nanoTime() < budgetEnd) {
+                    step();
+                    runCommands(); // don't let input wait for the whole catch-up burst
+                } else {
+                    // Over budget: only merge ticks in which enemies just walk
+                    advanced = (int) Math.min(engine.getIdleTicks(),
+                            Math.min(accumulator / TICK_NANOS, maxTicks - ticks));
+                    if (advanced == 0) {
+                        break;
+                    }
+                    engine.skipTicks(advanced);
+                    mergedTicks += advanced;
+                }
+                accumulator -= advanced * TICK_NANOS;
+                ticks += advanced;
+            }
+            engine.endTickBatch();
+            if (accumulator >= TICK_NANOS) {
+                // Too far behind: drop the backlog instead of catching up forever
+                droppedTicks += accumulator / TICK_NANOS;
+                accumulator %= TICK_NANOS;
+            }
+            
+            // Next frame when a 1x tick of real time has passed
+            LockSupport.parkNanos(TICK_NANOS - accumulator / scale);
+        }
+    }
+    
+    private void step() {
+        if (engine.isGameRunning()) {
+            engine.update(GameEngine.DELTA_TIME);
+            
+            // Check if wave is complete and start next wave
+            engine.startNextWaveIfCleared();
+        }
+    }
+    
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                System.err.println("Simülasyon komutu başarısız: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
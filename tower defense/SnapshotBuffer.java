@@ -0,0 +1,50 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Snapshot Buffer - lock-free triple buffer of FrameSnapshots between one
+ * writer (the thread calling GameEngine.update) and one reader (the
+ * renderer). The writer always fills a private back buffer and swaps it
+ * with the shared middle one; the reader swaps the middle one into its
+ * private front buffer only when something new was published.
+ *
+ * Rules for readers:
+ * - exactly one reader thread per buffer;
+ * - a snapshot returned by acquire() stays unchanged until that reader
+ *   calls acquire() again, no matter how many ticks are published;
+ * - never keep a snapshot across acquire() calls or hand it to another thread.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // middle buffer holds an unread snapshot
+    
+    private final FrameSnapshot[] buffers = {
+        new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // owned by the writer
+    private int front = 2; // owned by the reader
+    
+    /**
+     * Writer: the buffer to fill for the next publish.
+     */
+    public FrameSnapshot getBack() {
+        return buffers[back];
+    }
+    
+    /**
+     * Writer: make the filled back buffer the latest snapshot.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+    
+    /**
+     * Reader: latest published snapshot (the previous one if nothing new).
+     */
+    public FrameSnapshot acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 
 /**
  * Main class for Space Colony Defense game.
@@ -16,7 +17,34 @@ public class SpaceColonyDefense {
     
     public SpaceColonyDefense() {
         engine = new GameEngine();
+        // -Dtd.seed repeats a reported game, -Dtd.replay records the session for ReplayPlayer
+        if (System.getProperty("td.seed") != null) {
+            try {
+                engine.setSeed(GameEngine.seedProperty());
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(2);
+            }
+        }
+        String replayFile = System.getProperty("td.replay");
+        if (replayFile != null) {
+            try {
+                engine.setReplayRecorder(ReplayRecorder.open(replayFile));
+            } catch (IOException e) {
+                System.err.println("Tekrar dosyası oluşturulamadı: " + e.getMessage());
+            }
+        }
+        // Tick timings over JMX (JConsole); -Dtd.metrics=false turns them off
+        if (Boolean.parseBoolean(System.getProperty("td.metrics", "true"))) {
+            engine.enableMetrics();
+        }
         gui = new GameGUI(engine);
+        // Stop the simulation thread, then write out queued log records when
+        // the window or menu exits the JVM
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            gui.stop();
+            engine.close();
+        }, "log-drain"));
         mainMenu = new MainMenu(new MainMenu.MainMenuListener() {
             @Override
             public void onStartGame() {
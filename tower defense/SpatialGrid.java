@@ -0,0 +1,146 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial Grid - uniform grid over enemy positions for range queries.
+ * GameEngine marks it stale once per tick after enemies move and it is
+ * rebuilt on the first query, so ticks in which no tower asks (most of
+ * them, with the coverage index doing the targeting) cost nothing. Towers
+ * ask for "alive enemies within r of (x, y)" and only visit the cells the
+ * query circle overlaps instead of scanning every enemy.
+ *
+ * Enemies are bucketed with a counting sort into one flat array, so each
+ * grid row of a query is a single contiguous slice and rebuilding allocates
+ * nothing once the arrays have grown to the horde size.
+ * Positions outside the bounds are clamped to the border cells, so queries
+ * stay correct anywhere on the map.
+ */
+public class SpatialGrid {
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    
+    private final int[] cellStart; // cell c holds items[cellStart[c] .. cellStart[c + 1])
+    private int[] cellOf = new int[64]; // cell of each enemy during rebuild
+    private Enemy[] items = new Enemy[64];
+    private int count;
+    private List<Enemy> stale; // enemies that moved since the last rebuild, or null
+    
+    public SpatialGrid(double minX, double minY, double maxX, double maxY, double cellSize) {
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+    }
+    
+    public int getCount() { return count; }
+    
+    /**
+     * The enemies moved: rebuild from them before the next query.
+     */
+    public void invalidate(List<Enemy> enemies) {
+        stale = enemies;
+    }
+    
+    /**
+     * Rebuild now if invalidated. Queries do this themselves; call it before
+     * querying from several threads.
+     */
+    public void rebuildIfStale() {
+        if (stale != null) {
+            rebuild(stale);
+        }
+    }
+    
+    /**
+     * Re-bucket all alive enemies by their current position.
+     */
+    public void rebuild(List<Enemy> enemies) {
+        stale = null;
+        int n = enemies.size();
+        if (cellOf.length < n) {
+            int capacity = Math.max(n, cellOf.length * 2);
+            cellOf = new int[capacity];
+            items = new Enemy[capacity];
+        }
+        
+        // Pass 1: count enemies per cell
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive()) {
+                cellOf[i] = -1;
+                continue;
+            }
+            int cell = row(enemy.getY()) * columns + column(enemy.getX());
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        
+        // Prefix sums turn counts into start offsets
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        
+        // Pass 2: place enemies (stable, keeps list order inside a cell)
+        int total = cellStart[columns * rows];
+        for (int i = 0; i < n; i++) {
+            int cell = cellOf[i];
+            if (cell >= 0) {
+                items[cellStart[cell]++] = enemies.get(i);
+            }
+        }
+        // Placing advanced every start to the next cell's start; shift back
+        for (int c = columns * rows; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+        
+        // Drop stale references from a previous, larger horde
+        for (int i = total; i < count; i++) {
+            items[i] = null;
+        }
+        count = total;
+    }
+    
+    /**
+     * Collect alive enemies within radius of (x, y) into out (cleared first).
+     * Within a cell enemies keep their GameEngine list order.
+     */
+    public void query(double x, double y, double radius, List<Enemy> out) {
+        out.clear();
+        rebuildIfStale();
+        double radiusSq = radius * radius;
+        int c0 = column(x - radius);
+        int c1 = column(x + radius);
+        int r0 = row(y - radius);
+        int r1 = row(y + radius);
+        
+        for (int r = r0; r <= r1; r++) {
+            int from = cellStart[r * columns + c0];
+            int to = cellStart[r * columns + c1 + 1];
+            for (int i = from; i < to; i++) {
+                Enemy enemy = items[i];
+                double dx = enemy.getX() - x;
+                double dy = enemy.getY() - y;
+                if (dx * dx + dy * dy <= radiusSq && enemy.isAlive()) {
+                    out.add(enemy);
+                }
+            }
+        }
+    }
+    
+    private int column(double x) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+    }
+    
+    private int row(double y) {
+        int r = (int) Math.floor((y - originY) / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Spawn Schedule - timed cursor over a WaveDefinition. The engine advances
+ * it by the tick's delta time and pulls the spawns that became due; only
+ * the next spawn time is ever computed, so the schedule itself is a few
+ * fields no matter how many enemies the wave has.
+ *
+ * Kinds are picked when an enemy spawns, so weighted mixes draw from the
+ * game RNG in spawn order and a seeded game stays reproducible.
+ */
+public class SpawnSchedule {
+    private static final double EPSILON = 1e-9; // sums of DELTA_TIME are not exact
+    
+    private final List<WaveDefinition.Group> groups;
+    private int groupIndex;
+    private long spawned;       // spawns done in the current group
+    private double groupStart;  // wave time of the current group's first spawn
+    private double nextTime;    // wave time of the next spawn
+    private double elapsed;     // wave time
+    private long remaining;
+    
+    public SpawnSchedule(WaveDefinition wave) {
+        this.groups = wave.getGroups();
+        this.remaining = wave.getEnemyCount();
+        if (!groups.isEmpty()) {
+            groupStart = groups.get(0).delay;
+            nextTime = groupStart;
+        }
+    }
+    
+    public boolean isFinished() { return remaining == 0; }
+    public long getRemaining() { return remaining; }
+    public double getElapsed() { return elapsed; }
+    
+    /**
+     * Wave time until the next spawn is due (infinity once all spawned).
+     */
+    public double getTimeUntilNext() {
+        return remaining > 0 ? Math.max(0.0, nextTime - elapsed) : Double.POSITIVE_INFINITY;
+    }
+    
+    public void advance(double deltaTime) {
+        elapsed += deltaTime;
+    }
+    
+    /**
+     * True if the next spawn is due at the current wave time.
+     */
+    public boolean hasDue() {
+        return remaining > 0 && nextTime <= elapsed + EPSILON;
+    }
+    
+    /**
+     * Seconds the next due spawn is late by (it should have happened
+     * between ticks); lets the engine place it further along the path.
+     */
+    public double getLateness() {
+        return Math.max(0.0, elapsed - nextTime);
+    }
+    
+    /**
+     * Take the next spawn and return its enemy kind.
+     */
+    public int next(Random random) {
+        WaveDefinition.Group group = groups.get(groupIndex);
+        int kind = group.kinds.pick(spawned, random);
+        spawned++;
+        remaining--;
+        if (spawned < group.count) {
+            nextTime = groupStart + group.spawnOffset(spawned);
+        } else if (groupIndex + 1 < groups.size()) {
+            double lastSpawn = groupStart + group.spawnOffset(group.count - 1);
+            groupIndex++;
+            spawned = 0;
+            groupStart = lastSpawn + groups.get(groupIndex).delay;
+            nextTime = groupStart;
+        }
+        return kind;
+    }
+}
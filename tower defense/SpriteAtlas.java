@@ -0,0 +1,402 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Sprite Atlas - every enemy and tower look (Standard, Armored and Flying
+ * enemies, each normal and slowed, plus Archer, Cannon and Ice towers) and
+ * the digits of the health text, rasterised once into a single image.
+ * Drawing a unit is then one image blit instead of a dozen vector
+ * primitives with fresh paints, colors and strokes, and none of the
+ * draw methods allocate.
+ */
+public class SpriteAtlas {
+    // Every sprite cell has the same size; (ANCHOR_X, ANCHOR_Y) is the unit position
+    private static final int CELL_WIDTH = 64;
+    private static final int CELL_HEIGHT = 72;
+    private static final int ANCHOR_X = 32;
+    private static final int ANCHOR_Y = 40;
+    
+    private static final int ENEMY_KINDS = 3; // FrameSnapshot.STANDARD, ARMORED, FLYING
+    private static final int TOWER_KINDS = 3; // FrameSnapshot.ARCHER, CANNON, ICE
+    private static final int TOWER_ROW = 2;   // rows 0/1: enemies unslowed/slowed
+    private static final int GLYPH_ROW = 3;
+    
+    // Health text glyphs: '0'..'9' and '/'
+    private static final String GLYPHS = "0123456789/";
+    private static final int SLASH = 10;
+    private static final Font HEALTH_FONT = new Font("Arial", Font.PLAIN, 8);
+    
+    // Enemy colors
+    private static final Color STANDARD_ENEMY_COLOR = new Color(97, 67, 38);  // brown scarab/goblin
+    private static final Color ARMORED_ENEMY_COLOR  = new Color(60, 42, 29);  // dark stone golem
+    private static final Color FLYING_ENEMY_COLOR   = new Color(171, 120, 75); // desert vulture
+    
+    // Health bar
+    private static final int BAR_WIDTH = 24;
+    private static final int BAR_HEIGHT = 5;
+    private static final Color BAR_BACKGROUND = new Color(150, 0, 0);
+    private static final Color[] BAR_GREENS = new Color[256]; // index = 255 * health
+    private static final Stroke THIN_STROKE = new BasicStroke(1);
+    
+    static {
+        for (int i = 0; i < BAR_GREENS.length; i++) {
+            BAR_GREENS[i] = new Color(0, i, 0);
+        }
+    }
+    
+    private final BufferedImage atlas;
+    private final int glyphTop;       // atlas y of the glyph row
+    private final int glyphAscent;
+    private final int glyphHeight;
+    private final int[] glyphX = new int[GLYPHS.length()];
+    private final int[] glyphWidth = new int[GLYPHS.length()]; // advance, also the cell width
+    
+    /**
+     * Rasterise all sprites. gc may be null (off-screen), otherwise the atlas
+     * is created in the screen's format so blits are plain copies.
+     */
+    public SpriteAtlas(GraphicsConfiguration gc) {
+        FontMetrics fm = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)
+                .createGraphics().getFontMetrics(HEALTH_FONT);
+        glyphAscent = fm.getAscent();
+        glyphHeight = fm.getAscent() + fm.getDescent();
+        glyphTop = GLYPH_ROW * CELL_HEIGHT;
+        int x = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyphX[i] = x;
+            glyphWidth[i] = fm.charWidth(GLYPHS.charAt(i));
+            x += glyphWidth[i] + 2; // gap so antialiased edges don't bleed
+        }
+        
+        int width = Math.max(ENEMY_KINDS, TOWER_KINDS) * CELL_WIDTH;
+        int height = glyphTop + glyphHeight;
+        atlas = gc != null
+                ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        
+        Graphics2D g2d = atlas.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            for (int kind = 0; kind < ENEMY_KINDS; kind++) {
+                paintEnemy(g2d, kind, false, kind * CELL_WIDTH + ANCHOR_X, ANCHOR_Y);
+                paintEnemy(g2d, kind, true, kind * CELL_WIDTH + ANCHOR_X, CELL_HEIGHT + ANCHOR_Y);
+            }
+            for (int kind = 0; kind < TOWER_KINDS; kind++) {
+                paintTower(g2d, kind, kind * CELL_WIDTH + ANCHOR_X, TOWER_ROW * CELL_HEIGHT + ANCHOR_Y);
+            }
+            g2d.setFont(HEALTH_FONT);
+            g2d.setColor(Color.WHITE);
+            for (int i = 0; i < GLYPHS.length(); i++) {
+                g2d.drawString(GLYPHS.substring(i, i + 1), glyphX[i], glyphTop + glyphAscent);
+            }
+        } finally {
+            g2d.dispose();
+        }
+    }
+    
+    /**
+     * Blit an enemy sprite centred on (x, y).
+     */
+    public void drawEnemy(Graphics2D g2d, int kind, boolean slowed, int x, int y) {
+        blitCell(g2d, kind, slowed ? 1 : 0, x, y);
+    }
+    
+    /**
+     * Blit a tower sprite centred on (x, y).
+     */
+    public void drawTower(Graphics2D g2d, int kind, int x, int y) {
+        blitCell(g2d, kind, TOWER_ROW, x, y);
+    }
+    
+    private void blitCell(Graphics2D g2d, int column, int row, int x, int y) {
+        int sx = column * CELL_WIDTH;
+        int sy = row * CELL_HEIGHT;
+        int dx = x - ANCHOR_X;
+        int dy = y - ANCHOR_Y;
+        g2d.drawImage(atlas, dx, dy, dx + CELL_WIDTH, dy + CELL_HEIGHT,
+                      sx, sy, sx + CELL_WIDTH, sy + CELL_HEIGHT, null);
+    }
+    
+    /**
+     * Health bar and "current/max" text above an enemy at (x, y).
+     */
+    public void drawHealth(Graphics2D g2d, int x, int y, double currentHP, double maxHP) {
+        double healthPercent = currentHP / maxHP;
+        
+        g2d.setColor(BAR_BACKGROUND);
+        g2d.fillRect(x - BAR_WIDTH/2, y - 25, BAR_WIDTH, BAR_HEIGHT);
+        
+        if (healthPercent > 0) {
+            g2d.setColor(BAR_GREENS[Math.min(255, (int)(255 * healthPercent))]);
+            g2d.fillRect(x - BAR_WIDTH/2, y - 25, (int)(BAR_WIDTH * healthPercent), BAR_HEIGHT);
+        }
+        
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(THIN_STROKE);
+        g2d.drawRect(x - BAR_WIDTH/2, y - 25, BAR_WIDTH, BAR_HEIGHT);
+        
+        // Same text as String.format("%.0f/%.0f"), drawn from digit glyphs
+        long current = roundHalfUp(currentHP);
+        long max = roundHalfUp(maxHP);
+        int width = numberWidth(current) + glyphWidth[SLASH] + numberWidth(max);
+        int textX = x - width / 2;
+        int baseline = y - 28;
+        textX = drawNumber(g2d, current, textX, baseline);
+        textX = drawGlyph(g2d, SLASH, textX, baseline);
+        drawNumber(g2d, max, textX, baseline);
+    }
+    
+    private static long roundHalfUp(double value) {
+        return (long) Math.floor(value + 0.5);
+    }
+    
+    private int numberWidth(long value) {
+        int width = 0;
+        do {
+            width += glyphWidth[(int) (value % 10)];
+            value /= 10;
+        } while (value > 0);
+        return width;
+    }
+    
+    // Draw digits most significant first; returns x after the number
+    private int drawNumber(Graphics2D g2d, long value, int x, int baseline) {
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            x = drawGlyph(g2d, (int) (value / divisor % 10), x, baseline);
+            divisor /= 10;
+        }
+        return x;
+    }
+    
+    private int drawGlyph(Graphics2D g2d, int glyph, int x, int baseline) {
+        int sx = glyphX[glyph];
+        int w = glyphWidth[glyph];
+        int dy = baseline - glyphAscent;
+        g2d.drawImage(atlas, x, dy, x + w, dy + glyphHeight,
+                      sx, glyphTop, sx + w, glyphTop + glyphHeight, null);
+        return x + w;
+    }
+    
+    /**
+     * Vector drawing of a tower at (x, y); only used to build the atlas.
+     */
+    private static void paintTower(Graphics2D g2d, int kind, int x, int y) {
+        // Shadow
+        g2d.setColor(new Color(0, 0, 0, 120));
+        g2d.fillOval(x - 15, y + 12, 30, 10);
+        
+        // Tower base (stone)
+        GradientPaint towerGradient = new GradientPaint(
+            x - 20, y - 20, new Color(160, 160, 160),
+            x - 20, y + 15, new Color(100, 100, 100)
+        );
+        g2d.setPaint(towerGradient);
+        g2d.fillRoundRect(x - 20, y - 20, 40, 35, 8, 8);
+        
+        // Stone texture
+        g2d.setColor(new Color(120, 120, 120, 120));
+        g2d.setStroke(new BasicStroke(1));
+        g2d.drawLine(x - 18, y - 10, x + 18, y - 10);
+        g2d.drawLine(x - 18, y, x + 18, y);
+        g2d.drawLine(x - 18, y + 10, x + 18, y + 10);
+        g2d.drawLine(x - 10, y - 20, x - 10, y + 15);
+        g2d.drawLine(x + 10, y - 20, x + 10, y + 15);
+        
+        // Tower type specific drawing
+        if (kind == FrameSnapshot.ARCHER) {
+            // Archer tower with bow
+            g2d.setColor(new Color(140, 140, 140));
+            g2d.fillRect(x - 16, y - 28, 32, 8);
+            g2d.setColor(new Color(120, 80, 40));
+            g2d.setStroke(new BasicStroke(4));
+            g2d.drawArc(x - 8, y - 32, 16, 12, 0, 180);
+            g2d.setColor(new Color(230, 230, 230));
+            g2d.setStroke(new BasicStroke(1));
+            g2d.drawLine(x - 8, y - 26, x + 8, y - 26);
+            g2d.setColor(new Color(139, 90, 43));
+            g2d.setStroke(new BasicStroke(2));
+            g2d.drawLine(x, y - 28, x, y - 20);
+            int[] arrowTipX = {x, x - 2, x + 2};
+            int[] arrowTipY = {y - 28, y - 25, y - 25};
+            g2d.setColor(new Color(192, 192, 192));
+            g2d.fillPolygon(arrowTipX, arrowTipY, 3);
+        } else if (kind == FrameSnapshot.CANNON) {
+            // Cannon tower
+            g2d.setColor(new Color(140, 140, 140));
+            g2d.fillRect(x - 16, y - 28, 32, 8);
+            g2d.setColor(new Color(70, 70, 70));
+            g2d.fillOval(x - 8, y - 26, 16, 10);
+            g2d.setColor(new Color(170, 170, 170));
+            g2d.setStroke(new BasicStroke(5));
+            g2d.drawLine(x + 8, y - 22, x + 22, y - 25);
+            g2d.setColor(new Color(30, 30, 30));
+            g2d.fillOval(x + 18, y - 27, 6, 6);
+            g2d.setColor(new Color(110, 110, 110));
+            g2d.setStroke(new BasicStroke(1));
+            g2d.drawOval(x - 8, y - 26, 16, 10);
+        } else if (kind == FrameSnapshot.ICE) {
+            // Ice tower with crystal
+            g2d.setColor(new Color(140, 140, 140));
+            g2d.fillRect(x - 16, y - 28, 32, 8);
+            int[] crystalX = {x, x - 6, x + 6, x, x - 4, x + 4};
+            int[] crystalY = {y - 30, y - 24, y - 24, y - 20, y - 22, y - 22};
+            g2d.setColor(new Color(173, 216, 230, 180));
+            g2d.fillPolygon(crystalX, crystalY, 6);
+            g2d.setColor(new Color(135, 206, 250));
+            int[] innerX = {x, x - 4, x + 4, x, x - 2, x + 2};
+            int[] innerY = {y - 28, y - 24, y - 24, y - 21, y - 23, y - 23};
+            g2d.fillPolygon(innerX, innerY, 6);
+            g2d.setColor(new Color(100, 150, 200));
+            g2d.setStroke(new BasicStroke(2));
+            g2d.drawPolygon(crystalX, crystalY, 6);
+        }
+        
+        // Tower border
+        g2d.setColor(new Color(70, 70, 70));
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRoundRect(x - 20, y - 20, 40, 35, 8, 8);
+        g2d.setColor(new Color(130, 130, 130));
+        g2d.drawRect(x - 16, y - 28, 32, 8);
+    }
+    
+    /**
+     * Vector drawing of a desert-themed enemy at (x, y); only used to build the atlas.
+     */
+    private static void paintEnemy(Graphics2D g2d, int kind, boolean slowed, int x, int y) {
+        // Determine color based on enemy type and effects
+        Color enemyColor;
+        if (kind == FrameSnapshot.FLYING) {
+            enemyColor = FLYING_ENEMY_COLOR;
+        } else if (kind == FrameSnapshot.ARMORED) {
+            enemyColor = ARMORED_ENEMY_COLOR;
+        } else {
+            enemyColor = STANDARD_ENEMY_COLOR;
+        }
+        
+        // Apply ice tower effect - blue tint if slowed
+        if (slowed) {
+            enemyColor = new Color(
+                Math.max(0, Math.min(255, enemyColor.getRed() - 40)),
+                Math.max(0, Math.min(255, enemyColor.getGreen() + 40)),
+                Math.max(0, Math.min(255, enemyColor.getBlue() + 120))
+            );
+        }
+        
+        // Shadow
+        g2d.setColor(new Color(0, 0, 0, 100));
+        g2d.fillOval(x - 10, y + 8, 20, 6);
+        
+        if (kind == FrameSnapshot.FLYING) {
+            // Vulture-like flying enemy
+            GradientPaint bodyGrad = new GradientPaint(
+                x, y - 8, enemyColor.brighter(),
+                x, y + 8, enemyColor.darker()
+            );
+            g2d.setPaint(bodyGrad);
+            g2d.fillOval(x - 8, y - 3, 16, 10);
+            
+            g2d.setColor(enemyColor);
+            g2d.fillOval(x - 15, y - 5, 12, 8);
+            g2d.fillOval(x + 3, y - 5, 12, 8);
+            
+            g2d.setColor(enemyColor.darker());
+            g2d.fillOval(x - 6, y - 8, 8, 6);
+            
+            int[] beakX = {x - 2, x + 2, x};
+            int[] beakY = {y - 9, y - 9, y - 7};
+            g2d.setColor(new Color(255, 193, 7));
+            g2d.fillPolygon(beakX, beakY, 3);
+            
+            g2d.setColor(Color.YELLOW);
+            g2d.fillOval(x - 3, y - 7, 3, 3);
+            g2d.fillOval(x, y - 7, 3, 3);
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(x - 2, y - 6, 2, 2);
+            g2d.fillOval(x + 1, y - 6, 2, 2);
+            
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(new BasicStroke(1.5f));
+            g2d.drawOval(x - 8, y - 3, 16, 10);
+            g2d.drawOval(x - 15, y - 5, 12, 8);
+            g2d.drawOval(x + 3, y - 5, 12, 8);
+        } else if (kind == FrameSnapshot.ARMORED) {
+            // Golem / armored monster
+            GradientPaint grad = new GradientPaint(
+                x - 20, y - 15, new Color(80, 70, 60),
+                x - 20, y + 15, new Color(40, 30, 25)
+            );
+            g2d.setPaint(grad);
+            g2d.fillOval(x - 22, y - 18, 44, 36);
+            
+            g2d.setColor(new Color(60, 50, 40));
+            g2d.fillOval(x - 8, y - 22, 20, 16);
+            
+            int[] snoutX = {x + 8, x + 16, x + 12};
+            int[] snoutY = {y - 18, y - 16, y - 12};
+            g2d.fillPolygon(snoutX, snoutY, 3);
+            
+            g2d.setColor(new Color(255, 87, 34));
+            g2d.fillOval(x - 2, y - 20, 6, 6);
+            g2d.fillOval(x + 4, y - 20, 6, 6);
+            
+            g2d.setColor(new Color(40, 30, 25));
+            g2d.setStroke(new BasicStroke(2));
+            g2d.drawOval(x - 22, y - 18, 44, 36);
+            g2d.drawOval(x - 8, y - 22, 20, 16);
+        } else {
+            // Standard desert bandit/goblin
+            GradientPaint grad = new GradientPaint(
+                x - 10, y - 10, new Color(214, 162, 92),
+                x - 10, y + 10, new Color(158, 113, 68)
+            );
+            g2d.setPaint(grad);
+            g2d.fillOval(x - 12, y - 12, 24, 24);
+            
+            g2d.setColor(new Color(214, 184, 153));
+            g2d.fillOval(x - 7, y - 18, 14, 12);
+            
+            g2d.setColor(new Color(97, 67, 38));
+            int[] leftEarX = {x - 7, x - 11, x - 8};
+            int[] leftEarY = {y - 18, y - 22, y - 16};
+            int[] rightEarX = {x + 7, x + 11, x + 8};
+            int[] rightEarY = {y - 18, y - 22, y - 16};
+            g2d.fillPolygon(leftEarX, leftEarY, 3);
+            g2d.fillPolygon(rightEarX, rightEarY, 3);
+            
+            g2d.setColor(new Color(255, 193, 7));
+            g2d.fillOval(x - 4, y - 16, 3, 3);
+            g2d.fillOval(x + 1, y - 16, 3, 3);
+            g2d.setColor(Color.BLACK);
+            g2d.fillOval(x - 3, y - 15, 1, 1);
+            g2d.fillOval(x + 2, y - 15, 1, 1);
+            
+            g2d.setColor(new Color(189, 155, 107));
+            g2d.fillOval(x - 1, y - 13, 2, 2);
+            
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(new BasicStroke(1.5f));
+            g2d.drawArc(x - 3, y - 11, 6, 4, 0, 180);
+            
+            // Simple scimitar
+            g2d.setColor(new Color(224, 224, 224));
+            g2d.setStroke(new BasicStroke(3));
+            g2d.drawLine(x + 12, y - 10, x + 14, y + 6);
+            int[] tipX = {x + 14, x + 18, x + 16};
+            int[] tipY = {y - 10, y - 6, y - 4};
+            g2d.fillPolygon(tipX, tipY, 3);
+            g2d.setColor(new Color(120, 80, 40));
+            g2d.fillRect(x + 11, y + 4, 4, 5);
+            
+            g2d.setColor(Color.BLACK);
+            g2d.setStroke(new BasicStroke(2));
+            g2d.drawOval(x - 12, y - 12, 24, 24);
+            g2d.drawOval(x - 7, y - 18, 14, 12);
+        }
+    }
+}
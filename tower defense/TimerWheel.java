@@ -0,0 +1,205 @@
+/**
+ * Timer Wheel - hierarchical timing wheel over simulation ticks. GameEngine
+ * uses it so work happens only when something is due: towers are woken
+ * when their cooldown runs out instead of being polled every tick, and
+ * status effects (the IceTower slow) expire on their deadline instead of
+ * every enemy counting its timer down.
+ *
+ * Three levels of 64 buckets cover 64, 4 096 and 262 144 ticks ahead
+ * (about 73 minutes at 60 Hz); later deadlines wait in an overflow list.
+ * Advancing one tick expires one bucket, and every 64 (4 096) ticks one
+ * higher-level bucket is cascaded down, so the cost per tick is the number
+ * of timers due plus a small amortised constant. A jump over many ticks
+ * skips the empty level-0 buckets (a bit mask marks the others), so it
+ * costs one step per timer due and per 64 ticks, not one per tick. Timer nodes are pooled,
+ * so scheduling does not allocate once the pool has grown.
+ *
+ * Timers cannot be cancelled; owners tag them (e.g. with a generation
+ * number) and ignore stale expiries. Not thread-safe: simulation thread only.
+ */
+public class TimerWheel {
+    // Timer kinds
+    public static final int TOWER_READY = 0; // data = tower index
+    public static final int SLOW_EXPIRY = 1; // target = enemy, data = slow generation
+    
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+    private static final long SPAN = 1L << (BITS * LEVELS); // ticks covered by the wheel
+    
+    /**
+     * Receives expired timers.
+     */
+    public interface Handler {
+        void expire(int kind, Object target, int data);
+    }
+    
+    private static class Node {
+        long deadline;
+        int kind;
+        Object target;
+        int data;
+        Node next;
+    }
+    
+    private final Node[][] buckets = new Node[LEVELS][SLOTS];
+    private long occupied; // bit s set = level-0 bucket s holds timers
+    private Node overflow;
+    private Node free; // pooled nodes
+    private final double tickSeconds;
+    private long now; // current tick
+    private int size;
+    
+    public TimerWheel(double tickSeconds) {
+        this.tickSeconds = tickSeconds;
+    }
+    
+    public long getNow() { return now; }
+    public int size() { return size; }
+    
+    /**
+     * Tick for a game time (nearest tick, so DELTA_TIME sums map exactly).
+     */
+    public long tickOf(double time) {
+        return Math.round(time / tickSeconds);
+    }
+    
+    /**
+     * Seconds from the current tick to the given tick.
+     */
+    public double secondsUntil(long tick) {
+        return (tick - now) * tickSeconds;
+    }
+    
+    /**
+     * Fire at the given tick (at least the next one). Returns the tick used.
+     */
+    public long schedule(long deadline, int kind, Object target, int data) {
+        Node node = free;
+        if (node != null) {
+            free = node.next;
+        } else {
+            node = new Node();
+        }
+        node.deadline = Math.max(deadline, now + 1);
+        node.kind = kind;
+        node.target = target;
+        node.data = data;
+        insert(node);
+        size++;
+        return node.deadline;
+    }
+    
+    /**
+     * Fire after the given number of seconds, rounded to whole ticks.
+     */
+    public long scheduleAfter(double seconds, int kind, Object target, int data) {
+        return schedule(now + Math.round(seconds / tickSeconds), kind, target, data);
+    }
+    
+    /**
+     * Move to the given tick, expiring every timer due on the way.
+     */
+    public void advanceTo(long tick, Handler handler) {
+        while (now < tick) {
+            // Straight to the next level-0 bucket with timers, or the next wrap
+            long ahead = occupied & (-2L << (now & MASK));
+            long due = ahead != 0 ? (now & ~MASK) + Long.numberOfTrailingZeros(ahead) : (now | MASK) + 1;
+            now = Math.min(due, tick);
+            if ((now & MASK) == 0) {
+                cascade();
+            }
+            int slot = (int) (now & MASK);
+            Node node = buckets[0][slot];
+            buckets[0][slot] = null;
+            occupied &= ~(1L << slot);
+            while (node != null) {
+                Node next = node.next;
+                int kind = node.kind;
+                Object target = node.target;
+                int data = node.data;
+                release(node);
+                size--;
+                handler.expire(kind, target, data);
+                node = next;
+            }
+        }
+    }
+    
+    /**
+     * Drop all timers and restart at tick 0.
+     */
+    public void clear() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Node node = buckets[level][slot];
+                buckets[level][slot] = null;
+                releaseAll(node);
+            }
+        }
+        releaseAll(overflow);
+        overflow = null;
+        occupied = 0;
+        size = 0;
+        now = 0;
+    }
+    
+    private void insert(Node node) {
+        long delta = node.deadline - now;
+        if (delta >= SPAN) {
+            node.next = overflow;
+            overflow = node;
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((node.deadline >> (BITS * level)) & MASK);
+        node.next = buckets[level][slot];
+        buckets[level][slot] = node;
+        if (level == 0) {
+            occupied |= 1L << slot;
+        }
+    }
+    
+    // At a level-0 wrap, move the due higher-level buckets one level down
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((now >> (BITS * level)) & MASK);
+            Node node = buckets[level][slot];
+            buckets[level][slot] = null;
+            reinsert(node);
+            if (slot != 0) {
+                return; // the next level only wraps when this one does
+            }
+        }
+        // The whole wheel wrapped: bring in overflow timers that now fit
+        Node node = overflow;
+        overflow = null;
+        reinsert(node);
+    }
+    
+    private void reinsert(Node node) {
+        while (node != null) {
+            Node next = node.next;
+            insert(node);
+            node = next;
+        }
+    }
+    
+    private void release(Node node) {
+        node.target = null;
+        node.next = free;
+        free = node;
+    }
+    
+    private void releaseAll(Node node) {
+        while (node != null) {
+            Node next = node.next;
+            release(node);
+            node = next;
+        }
+    }
+}
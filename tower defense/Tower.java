@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.List;
 import java.awt.Point;
 
@@ -14,6 +15,14 @@ public abstract class Tower {
     protected int energyCost; // MALIYET
     protected boolean isActive;
     
+    private SpatialGrid spatialGrid; // Set by GameEngine when the tower is placed
+    private final List<Enemy> nearbyEnemies = new ArrayList<>(); // Reused query result
+    private PathCoverageIndex coverageIndex; // Set by GameEngine when the tower is placed
+    private double[] coverage; // pathIndex intervals within targetingRange
+    private final ShotPlan shotPlan = new ShotPlan(); // Filled by aim, applied by fire or phase 2 of a two-phase update
+    private double lastShotDamage; // Shield taken off by the last applied shot
+    private double readyTime = Double.NaN; // getReadyTime, NaN until asked after a shot
+    
     public Tower(double x, double y, double targetingRange, double damageOutput, double fireRate, int energyCost) {
         this.x = x;
         this.y = y;
@@ -33,10 +42,46 @@ public abstract class Tower {
     public double getFireRate() { return fireRate; }
     public int getEnergyCost() { return energyCost; }
     public boolean isActive() { return isActive; }
+    public ShotPlan getShotPlan() { return shotPlan; }
+    public double getLastShotDamage() { return lastShotDamage; }
     
     public void setPosition(double x, double y) {
         this.x = x;
         this.y = y;
+        if (coverageIndex != null) {
+            coverage = coverageIndex.coverage(x, y, targetingRange);
+        }
+    }
+    
+    /**
+     * Use the engine's spatial grid for range queries (null = scan the list).
+     */
+    public void setSpatialGrid(SpatialGrid spatialGrid) {
+        this.spatialGrid = spatialGrid;
+    }
+    
+    /**
+     * Find targets through the engine's path coverage index (null = search
+     * the enemy list); the covered path intervals are computed here once.
+     */
+    public void setCoverageIndex(PathCoverageIndex coverageIndex) {
+        this.coverageIndex = coverageIndex;
+        this.coverage = coverageIndex != null ? coverageIndex.coverage(x, y, targetingRange) : null;
+    }
+    
+    /**
+     * Whether this tower shoots at flying enemies (ground-only towers override).
+     */
+    public boolean targetsFlying() {
+        return true;
+    }
+    
+    /**
+     * pathIndex intervals of the path this tower may reach (see
+     * Path.coverage), or null without a coverage index. Not to be modified.
+     */
+    double[] getCoverage() {
+        return coverage;
     }
     
     /**
@@ -46,11 +91,27 @@ public abstract class Tower {
         return (currentTime - lastFireTime) >= fireRate;
     }
     
+    /**
+     * Game time from which canFire is true (the plain sum can round a hair
+     * below it).
+     */
+    public double getReadyTime() {
+        if (Double.isNaN(readyTime)) {
+            double ready = lastFireTime + fireRate;
+            while (!canFire(ready)) {
+                ready = Math.nextUp(ready);
+            }
+            readyTime = ready;
+        }
+        return readyTime;
+    }
+    
     /**
      * Update last fire time.
      */
     protected void updateFireTime(double currentTime) {
         lastFireTime = currentTime;
+        readyTime = Double.NaN;
     }
     
     /**
@@ -62,6 +123,15 @@ public abstract class Tower {
         return Math.sqrt(dx * dx + dy * dy);
     }
     
+    /**
+     * Squared distance to enemy (no square root, for range comparisons).
+     */
+    protected double calculateDistanceSquared(Enemy enemy) {
+        double dx = enemy.getX() - x;
+        double dy = enemy.getY() - y;
+        return dx * dx + dy * dy;
+    }
+    
     /**
      * Calculate damage multiplier based on distance to enemy.
      * Closer enemies take more damage, far edge of range takes less.
@@ -70,15 +140,23 @@ public abstract class Tower {
      * - 66% - 100% of range: 0.7x damage
      */
     protected double calculateDistanceDamageMultiplier(Enemy enemy) {
-        double distance = calculateDistance(enemy);
+        return calculateDistanceDamageMultiplier(calculateDistanceSquared(enemy));
+    }
+    
+    /**
+     * Same damage bands, from an already computed squared distance.
+     */
+    protected double calculateDistanceDamageMultiplier(double distanceSq) {
         if (targetingRange <= 0) {
             return 1.0;
         }
-        double ratio = distance / targetingRange; // 0.0 (close) - 1.0 (edge of range)
+        // Compare squared distance against the squared band edges (no sqrt)
+        double nearEdge = targetingRange * 0.33;
+        double midEdge = targetingRange * 0.66;
         
-        if (ratio <= 0.33) {
+        if (distanceSq <= nearEdge * nearEdge) {
             return 1.5; // very close targets take more damage
-        } else if (ratio <= 0.66) {
+        } else if (distanceSq <= midEdge * midEdge) {
             return 1.0; // mid-range targets take normal damage
         } else {
             return 0.7; // far targets take slightly reduced damage
@@ -89,14 +167,106 @@ public abstract class Tower {
      * Check if enemy is in range.
      */
     protected boolean isInRange(Enemy enemy) {
-        return calculateDistance(enemy) <= targetingRange;
+        return calculateDistanceSquared(enemy) <= targetingRange * targetingRange;
+    }
+    
+    /**
+     * Enemies that may be within radius of this tower. With a spatial grid
+     * only the overlapping cells are visited; otherwise the full list is
+     * returned. The returned list is reused by the next call.
+     */
+    protected List<Enemy> enemiesNear(List<Enemy> enemies, double radius) {
+        if (spatialGrid == null) {
+            return enemies;
+        }
+        spatialGrid.query(x, y, radius, nearbyEnemies);
+        return nearbyEnemies;
+    }
+    
+    /**
+     * Find the enemy closest to base (highest pathIndex) in range.
+     * Shared by all towers; ground-only towers pass targetFlying = false.
+     */
+    protected Enemy findTarget(List<Enemy> enemies, boolean targetFlying) {
+        if (coverageIndex != null) {
+            return coverageIndex.findTarget(coverage, x, y, targetingRange, targetFlying);
+        }
+        Enemy target = null;
+        double maxPathIndex = -1.0;
+        
+        List<Enemy> candidates = enemiesNear(enemies, targetingRange);
+        for (int i = 0; i < candidates.size(); i++) {
+            Enemy enemy = candidates.get(i);
+            if (enemy.isAlive() && (targetFlying || !enemy.isFlying()) && isInRange(enemy)) {
+                if (enemy.getPathIndex() > maxPathIndex) {
+                    maxPathIndex = enemy.getPathIndex();
+                    target = enemy;
+                }
+            }
+        }
+        
+        return target;
+    }
+    
+    /**
+     * Apply a planned shot: hit every planned enemy still alive, in plan
+     * order, and start the cooldown if anything was hit. Hits are appended
+     * to hits and the shield they lost is kept as getLastShotDamage; the
+     * plan is cleared. Returns the hit count.
+     */
+    int applyShot(ShotPlan plan, double currentTime, List<Enemy> hits) {
+        int first = hits.size();
+        double slow = plan.getSlowDuration();
+        double dealt = 0.0;
+        for (int k = 0; k < plan.size(); k++) {
+            Enemy enemy = plan.getTarget(k);
+            if (!enemy.isAlive()) {
+                continue;
+            }
+            double before = enemy.getShieldIntegrity();
+            enemy.takeDamage(plan.getDamage(k));
+            dealt += before - enemy.getShieldIntegrity();
+            if (slow > 0) {
+                enemy.applySlowEffect(slow);
+            }
+            hits.add(enemy);
+        }
+        plan.clear();
+        lastShotDamage = dealt;
+        int count = hits.size() - first;
+        if (count > 0) {
+            updateFireTime(currentTime);
+        }
+        return count;
     }
     
     /**
-     * Polymorphism: Each tower type implements its own targeting and firing logic.
-     * Returns list of enemies hit (for splash damage towers).
+     * Fire at enemies: aim, then apply the plan. Each tower type implements
+     * its own targeting in aim, so the one-by-one and two-phase tower
+     * updates share the same rules. Enemies hit (several for splash damage
+     * towers) are appended to hits, a buffer owned by the caller and reused
+     * every call; returns the hit count.
+     */
+    public int fire(List<Enemy> enemies, double currentTime, List<Enemy> hits) {
+        if (aim(enemies, currentTime, shotPlan) == 0) {
+            return 0;
+        }
+        return applyShot(shotPlan, currentTime, hits);
+    }
+    
+    /**
+     * Plan the shot fire takes (and phase 1 of a two-phase tower update)
+     * against the enemies as they are now, without changing them or this
+     * tower (the caller applies the plan and starts the cooldown). Reads
+     * only, so many towers may aim in parallel. Returns the planned hits.
+     */
+    public abstract int aim(List<Enemy> enemies, double currentTime, ShotPlan plan);
+    
+    /**
+     * Same firing logic over the structure-of-arrays enemy store.
+     * Hit slots are recorded in the store's hit buffer; returns the hit count.
      */
-    public abstract List<Enemy> fire(List<Enemy> enemies, double currentTime);
+    public abstract int fire(EnemyStore store, double currentTime);
     
     /**
      * Get tower type name for display and logging.
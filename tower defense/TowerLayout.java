@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tower layout - a fixed list of tower placements (type + position).
+ * Used by headless runs to build the same defense in every game.
+ *
+ * Text form: "archer:280,200;cannon:280,330;ice:440,250"
+ */
+public class TowerLayout {
+    public static final String DEFAULT_LAYOUT = "archer:280,200;cannon:280,330;ice:440,250;archer:600,250";
+    
+    /**
+     * One tower placement.
+     */
+    public static class Placement {
+        public final String type; // archer, cannon, ice
+        public final double x;
+        public final double y;
+        
+        public Placement(String type, double x, double y) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+        
+        /**
+         * Create a new tower instance for this placement.
+         */
+        public Tower createTower() {
+            switch (type) {
+                case "archer":
+                    return new ArcherTower(x, y);
+                case "cannon":
+                    return new CannonTower(x, y);
+                case "ice":
+                    return new IceTower(x, y);
+                default:
+                    throw new IllegalArgumentException("Bilinmeyen kule tipi: " + type);
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return type + ":" + (int) x + "," + (int) y;
+        }
+    }
+    
+    private final List<Placement> placements;
+    
+    public TowerLayout(List<Placement> placements) {
+        this.placements = Collections.unmodifiableList(new ArrayList<>(placements));
+    }
+    
+    public List<Placement> getPlacements() {
+        return placements;
+    }
+    
+    /**
+     * Parse the text form, e.g. "archer:280,200;ice:440,250".
+     */
+    public static TowerLayout parse(String text) {
+        List<Placement> placements = new ArrayList<>();
+        for (String entry : text.split(";")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            int comma = entry.indexOf(',', colon);
+            if (colon < 0 || comma < 0) {
+                throw new IllegalArgumentException("Geçersiz kule tanımı: " + entry);
+            }
+            String type = entry.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            double x = Double.parseDouble(entry.substring(colon + 1, comma).trim());
+            double y = Double.parseDouble(entry.substring(comma + 1).trim());
+            Placement placement = new Placement(type, x, y);
+            placement.createTower(); // validate type early
+            placements.add(placement);
+        }
+        return new TowerLayout(placements);
+    }
+    
+    /**
+     * Place every tower of this layout on the engine (gold permitting).
+     * Returns the number of towers actually placed.
+     */
+    public int placeOn(GameEngine engine) {
+        int placed = 0;
+        for (Placement placement : placements) {
+            if (engine.placeTower(placement.createTower())) {
+                placed++;
+            }
+        }
+        return placed;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Placement placement : placements) {
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            sb.append(placement);
+        }
+        return sb.toString();
+    }
+}
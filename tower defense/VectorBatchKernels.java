@@ -0,0 +1,147 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector Batch Kernels - BatchKernels on jdk.incubator.vector, with the
+ * widest double vectors the CPU has (4 lanes with AVX2, 8 with AVX-512).
+ * Each step works on a whole batch of enemies: squared distances, the
+ * range mask (alive, on the ground, within radius), the damage band and
+ * the armor formula. Only the enemies that are hit leave vector code,
+ * to record the hit and check for a kill.
+ *
+ * Stores under MIN_VECTOR_SIZE slots take the scalar loop, and so does the
+ * rest of a store once hits come at least every DENSE_CROWD slots: taking
+ * each hit out of vector code then costs more than it saves.
+ *
+ * Only compiled with the Maven profile "vector" and only loaded (by
+ * BatchKernels.get, reflectively) when asked for and the module is added
+ * at run time; this class must not be referenced directly.
+ */
+public class VectorBatchKernels extends BatchKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2)); // same lane count
+    private static final int MIN_VECTOR_SIZE = 256; // smaller stores run faster on the scalar loop
+    private static final int DENSITY_SAMPLE = 128; // slots looked at before judging the crowd
+    private static final int DENSE_CROWD = 20; // 1 hit in this many slots or more: the scalar loop is faster
+    private static final DoubleVector ZERO = DoubleVector.zero(DOUBLES);
+    private static final DoubleVector LANES = DoubleVector.fromArray(DOUBLES, laneValues(false), 0);
+    private static final DoubleVector LANE_BITS = DoubleVector.fromArray(DOUBLES, laneValues(true), 0);
+    
+    /**
+     * Whether the CPU has double vectors this class can use: at least 2
+     * lanes, and at most 64 so hit lanes fit in a long.
+     */
+    public static boolean isSupported() {
+        return DOUBLES.length() >= 2 && DOUBLES.length() <= 64;
+    }
+    
+    @Override
+    public String getName() {
+        return "vector" + DOUBLES.length();
+    }
+    
+    @Override
+    public int splashGround(double[] x, double[] y, double[] shield, int[] armor, int[] flags, int size,
+                            double cx, double cy, double radius, double range, double damage,
+                            int exceptSlot, int[] hits, double[] hitDamage, int offset) {
+        if (size < MIN_VECTOR_SIZE) {
+            return super.splashGround(x, y, shield, armor, flags, size, cx, cy, radius, range, damage,
+                    exceptSlot, hits, hitDamage, offset);
+        }
+        double radiusSq = radius * radius;
+        double nearEdge = range * 0.33;
+        double midEdge = range * 0.66;
+        double nearSq = nearEdge * nearEdge;
+        double midSq = midEdge * midEdge;
+        // Without a range every band is 1.0, and damage * 1.0 is exact
+        double nearBand = range > 0 ? 1.5 : 1.0;
+        double farBand = range > 0 ? 0.7 : 1.0;
+        int lanes = DOUBLES.length();
+        int bound = DOUBLES.loopBound(size);
+        int count = offset;
+        
+        // Straight-line vector code: on JDK 17 a vector that is reassigned
+        // in a branch is boxed, so every step runs for the whole batch
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            // Squared distances and the range mask
+            DoubleVector dx = DoubleVector.fromArray(DOUBLES, x, i).sub(cx);
+            DoubleVector dy = DoubleVector.fromArray(DOUBLES, y, i).sub(cy);
+            DoubleVector distanceSq = dx.mul(dx).add(dy.mul(dy));
+            // Dead, flying and exceptSlot get a NaN distance, which fails the
+            // radius test; flags are compared as doubles (JDK 17 has no
+            // intrinsic for int-to-double mask casts or AVX-512 mask "and")
+            DoubleVector state = toDoubles(IntVector.fromArray(INTS, flags, i)
+                    .and(EnemyStore.ALIVE | EnemyStore.FLYING));
+            VectorMask<Double> hit = distanceSq
+                    .blend(Double.NaN, state.compare(VectorOperators.NE, (double) EnemyStore.ALIVE))
+                    .blend(Double.NaN, LANES.compare(VectorOperators.EQ, (double) (exceptSlot - i)))
+                    .compare(VectorOperators.LE, radiusSq);
+            if (!hit.anyTrue()) {
+                continue;
+            }
+            
+            // Damage band, then the armor formula (armor <= 0 takes the raw damage)
+            DoubleVector band = DoubleVector.broadcast(DOUBLES, farBand)
+                    .blend(1.0, distanceSq.compare(VectorOperators.LE, midSq))
+                    .blend(nearBand, distanceSq.compare(VectorOperators.LE, nearSq));
+            DoubleVector raw = band.mul(damage);
+            DoubleVector armorRating = toDoubles(IntVector.fromArray(INTS, armor, i));
+            DoubleVector reduced = raw.mul(DoubleVector.broadcast(DOUBLES, 1.0)
+                    .sub(armorRating.div(armorRating.add(100.0))));
+            DoubleVector net = raw.blend(reduced, armorRating.compare(VectorOperators.GT, 0.0));
+            // Blend and store the whole vector; a masked store is not intrinsic on JDK 17
+            DoubleVector shields = DoubleVector.fromArray(DOUBLES, shield, i);
+            DoubleVector after = shields.sub(net);
+            shields.blend(after, hit).intoArray(shield, i);
+            // Shield lost per lane (applyKill clamps at 0), stored at count:
+            // the loop below moves the hit lanes down to their hit index
+            shields.sub(after.max(0.0)).intoArray(hitDamage, count);
+            
+            // Hit lanes as bits (VectorMask.toLong is not intrinsic on JDK 17):
+            // lane n of LANE_BITS holds the raw bits 1 << n
+            long bits = ZERO.blend(LANE_BITS, hit).reinterpretAsLongs().reduceLanes(VectorOperators.OR);
+            int lanesAt = count;
+            for (long b = bits; b != 0; b &= b - 1) {
+                int lane = Long.numberOfTrailingZeros(b);
+                int slot = i + lane;
+                applyKill(shield, flags, slot);
+                hits[count] = slot;
+                hitDamage[count] = hitDamage[lanesAt + lane]; // lanesAt + lane >= count: not yet overwritten
+                count++;
+            }
+            // A dense crowd has hits in nearly every batch, and taking each
+            // one out of vector code costs more than the scalar loop
+            if (i + lanes >= DENSITY_SAMPLE && (count - offset) * DENSE_CROWD > i + lanes) {
+                i += lanes;
+                break;
+            }
+        }
+        
+        // Tail shorter than a vector, or the rest of a dense crowd
+        count = splashSlots(i, size, x, y, shield, armor, flags, cx, cy, radius, range, damage,
+                exceptSlot, hits, hitDamage, count);
+        return count - offset;
+    }
+    
+    private static DoubleVector toDoubles(IntVector values) {
+        return (DoubleVector) values.convertShape(VectorOperators.I2D, DOUBLES, 0);
+    }
+    
+    /**
+     * Lane numbers 0, 1, 2, ... or, with bits, doubles whose raw bits are
+     * 1, 2, 4, ...
+     */
+    private static double[] laneValues(boolean bits) {
+        double[] values = new double[DOUBLES.length()];
+        for (int lane = 0; lane < values.length; lane++) {
+            values[lane] = bits ? Double.longBitsToDouble(1L << lane) : lane;
+        }
+        return values;
+    }
+}
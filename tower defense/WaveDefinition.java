@@ -0,0 +1,220 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Wave Definition - data describing one wave as a list of spawn groups.
+ * Each group spawns a number of enemies with a kind mix and a timing
+ * pattern:
+ * - INTERVAL: one enemy every interval seconds;
+ * - BURST: burstSize enemies at once, bursts interval seconds apart;
+ * - RAMP: spacing shrinks (or grows) linearly from interval to endInterval.
+ * Groups run one after another; a group starts one spacing (plus any
+ * pause()) after the previous group's last spawn.
+ *
+ * A definition only holds counts and timings. SpawnSchedule turns it into
+ * enemies one at a time while the wave runs, so a 100 000 enemy wave costs
+ * no more memory up front than a 4 enemy one.
+ */
+public class WaveDefinition {
+    public enum Pattern { INTERVAL, BURST, RAMP }
+    
+    /**
+     * Which enemy kind (FrameSnapshot.STANDARD/ARMORED/FLYING) the n-th
+     * spawn of a group gets: a fixed cycle, or a weighted random pick.
+     */
+    public static class KindMix {
+        private final int[] kinds;   // cycle, or null
+        private final int[] weights; // per kind, or null
+        private final int totalWeight;
+        
+        private KindMix(int[] kinds, int[] weights) {
+            this.kinds = kinds;
+            this.weights = weights;
+            int total = 0;
+            if (weights != null) {
+                for (int weight : weights) {
+                    if (weight < 0) {
+                        throw new IllegalArgumentException("Negatif ağırlık: " + weight);
+                    }
+                    total += weight;
+                }
+                if (total == 0) {
+                    throw new IllegalArgumentException("Ağırlıkların toplamı sıfır");
+                }
+            }
+            this.totalWeight = total;
+        }
+        
+        /**
+         * Kind of the index-th spawn (draws from random only for weighted mixes).
+         */
+        int pick(long index, Random random) {
+            if (kinds != null) {
+                return kinds[(int) (index % kinds.length)];
+            }
+            int roll = random.nextInt(totalWeight);
+            for (int kind = 0; kind < weights.length; kind++) {
+                roll -= weights[kind];
+                if (roll < 0) {
+                    return kind;
+                }
+            }
+            return weights.length - 1;
+        }
+    }
+    
+    /**
+     * Enemies of the given kinds, repeated in this order.
+     */
+    public static KindMix cycle(int... kinds) {
+        if (kinds.length == 0) {
+            throw new IllegalArgumentException("Boş düşman döngüsü");
+        }
+        return new KindMix(kinds.clone(), null);
+    }
+    
+    /**
+     * Random kinds with relative weights for standard, armored and flying.
+     */
+    public static KindMix mix(int standard, int armored, int flying) {
+        return new KindMix(null, new int[] { standard, armored, flying });
+    }
+    
+    /**
+     * One group of spawns.
+     */
+    public static class Group {
+        public final long count;
+        public final KindMix kinds;
+        public final Pattern pattern;
+        public final double interval;    // seconds between spawns or bursts (RAMP: first spacing)
+        public final double endInterval; // RAMP: last spacing
+        public final int burstSize;      // BURST only
+        public final double delay;       // seconds from the previous group's last spawn to the first one
+        
+        Group(long count, KindMix kinds, Pattern pattern, double interval, double endInterval,
+              int burstSize, double delay) {
+            if (count <= 0 || interval < 0 || endInterval < 0 || burstSize <= 0 || delay < 0) {
+                throw new IllegalArgumentException("Geçersiz dalga grubu");
+            }
+            this.count = count;
+            this.kinds = kinds;
+            this.pattern = pattern;
+            this.interval = interval;
+            this.endInterval = endInterval;
+            this.burstSize = burstSize;
+            this.delay = delay;
+        }
+        
+        /**
+         * Seconds from the group's first spawn to its index-th spawn.
+         */
+        public double spawnOffset(long index) {
+            switch (pattern) {
+                case BURST:
+                    return (index / burstSize) * interval;
+                case RAMP:
+                    if (count < 2) {
+                        return 0.0;
+                    }
+                    // Spacing k is interval + (endInterval - interval) * k / (count - 1)
+                    double step = (endInterval - interval) / (count - 1);
+                    return index * interval + step * (index * (index - 1) / 2.0);
+                default:
+                    return index * interval;
+            }
+        }
+    }
+    
+    private final List<Group> groups = new ArrayList<>();
+    private double pendingPause;
+    
+    /**
+     * Add count enemies, one every interval seconds.
+     */
+    public WaveDefinition interval(long count, double interval, KindMix kinds) {
+        return add(count, kinds, Pattern.INTERVAL, interval, interval, 1);
+    }
+    
+    /**
+     * Add count enemies in bursts of burstSize, interval seconds apart.
+     */
+    public WaveDefinition burst(long count, int burstSize, double interval, KindMix kinds) {
+        return add(count, kinds, Pattern.BURST, interval, interval, burstSize);
+    }
+    
+    /**
+     * Add count enemies whose spacing changes linearly from startInterval to endInterval.
+     */
+    public WaveDefinition ramp(long count, double startInterval, double endInterval, KindMix kinds) {
+        return add(count, kinds, Pattern.RAMP, startInterval, endInterval, 1);
+    }
+    
+    /**
+     * Extra seconds before the next group.
+     */
+    public WaveDefinition pause(double seconds) {
+        pendingPause += seconds;
+        return this;
+    }
+    
+    private WaveDefinition add(long count, KindMix kinds, Pattern pattern, double interval,
+                               double endInterval, int burstSize) {
+        if (count == 0) {
+            return this; // e.g. "the rest of the wave" when there is no rest
+        }
+        double delay = (groups.isEmpty() ? 0.0 : interval) + pendingPause;
+        groups.add(new Group(count, kinds, pattern, interval, endInterval, burstSize, delay));
+        pendingPause = 0.0;
+        return this;
+    }
+    
+    public List<Group> getGroups() {
+        return Collections.unmodifiableList(groups);
+    }
+    
+    public long getEnemyCount() {
+        long total = 0;
+        for (Group group : groups) {
+            total += group.count;
+        }
+        return total;
+    }
+    
+    /**
+     * The built-in waves 1-4. Wave sizes are drawn from the game RNG, so
+     * call this when the wave starts.
+     */
+    public static WaveDefinition standard(int wave, Random random) {
+        int standard = FrameSnapshot.STANDARD;
+        int armored = FrameSnapshot.ARMORED;
+        int flying = FrameSnapshot.FLYING;
+        WaveDefinition definition = new WaveDefinition();
+        switch (wave) {
+            case 1:
+                // 2 Standard, 1 Armored, 1 Flying
+                return definition.interval(4, 1.0, cycle(standard, standard, armored, flying));
+            case 2: {
+                // 5-10 enemies, at least 1 of each type
+                int total = 5 + random.nextInt(6);
+                return definition
+                        .interval(3, 0.9, cycle(standard, armored, flying))
+                        .interval(total - 3, 0.9, mix(1, 1, 1));
+            }
+            case 3: {
+                // 6-9 enemies: two bursts of one of each type, then favor armored
+                int total = 6 + random.nextInt(4);
+                return definition
+                        .burst(6, 3, 2.5, cycle(standard, armored, flying))
+                        .interval(total - 6, 0.8, mix(3, 4, 3));
+            }
+            default: {
+                // 8-12 enemies, mixed types, arriving faster and faster
+                int total = 8 + random.nextInt(5);
+                return definition.ramp(total, 1.0, 0.4, mix(3, 3, 4));
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Batch Kernels Test - the splash kernels against Tower's damage bands and
+ * Enemy's armor formula applied one enemy at a time. Runs the scalar
+ * kernels and whatever BatchKernels.get() loaded (the vector kernels under
+ * the Maven profile "vector"), on crowds sparse and dense enough for the
+ * vector kernels to take either loop.
+ */
+class BatchKernelsTest {
+    /**
+     * A tower that only computes damage bands: any range.
+     */
+    private static final class Band extends Tower {
+        Band(double range) {
+            super(0.0, 0.0, range, 0.0, 1.0, 0);
+        }
+        
+        double of(double distanceSq) {
+            return calculateDistanceDamageMultiplier(distanceSq);
+        }
+        
+        @Override
+        public int aim(List<Enemy> enemies, double currentTime, ShotPlan plan) { return 0; }
+        
+        @Override
+        public int fire(EnemyStore store, double currentTime) { return 0; }
+        
+        @Override
+        public String getTowerType() { return "Band"; }
+    }
+    
+    @Test
+    void vectorKernelsAreOptIn() {
+        if (!Boolean.getBoolean("td.vectorKernels")) {
+            assertEquals("scalar", BatchKernels.get().getName());
+        }
+    }
+    
+    @Test
+    void splashMatchesOneEnemyAtATime() {
+        Random random = new Random(7);
+        for (BatchKernels kernels : new BatchKernels[] {new BatchKernels(), BatchKernels.get()}) {
+            int hits = 0;
+            for (int round = 0; round < 600; round++) {
+                hits += splash(kernels, random, round);
+            }
+            assertTrue(hits > 0, kernels.getName() + " never hit");
+        }
+    }
+    
+    private static int splash(BatchKernels kernels, Random random, int round) {
+        int size = random.nextInt(4) == 0 ? random.nextInt(300) : 250 + random.nextInt(1500);
+        double spread = new double[] {100.0, 250.0, 600.0, 2000.0}[random.nextInt(4)];
+        double cx = 400.0;
+        double cy = 300.0;
+        double[] x = new double[size];
+        double[] y = new double[size];
+        double[] shield = new double[size];
+        int[] armor = new int[size];
+        int[] flags = new int[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = cx + (random.nextDouble() - 0.5) * spread;
+            y[i] = cy + (random.nextDouble() - 0.5) * spread;
+            shield[i] = random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * 80.0;
+            armor[i] = random.nextInt(3) == 0 ? random.nextInt(90) : 0;
+            flags[i] = random.nextInt(8) == 0 ? 0 : EnemyStore.ALIVE | (random.nextInt(4) == 0 ? EnemyStore.FLYING : 0);
+        }
+        double radius = 20.0 + random.nextDouble() * 60.0;
+        double range = random.nextInt(10) == 0 ? 0.0 : 100.0 + random.nextDouble() * 150.0;
+        double damage = 10.0 + random.nextDouble() * 50.0;
+        int exceptSlot = size > 0 && random.nextBoolean() ? random.nextInt(size) : -1;
+        int offset = random.nextInt(5);
+        
+        // Expected: one enemy at a time, as the list-mode splash does
+        double[] expectedShield = shield.clone();
+        int[] expectedFlags = flags.clone();
+        int[] expectedHits = new int[size];
+        double[] expectedDamage = new double[size];
+        int expectedCount = 0;
+        Band band = new Band(range);
+        for (int i = 0; i < size; i++) {
+            double dx = x[i] - cx;
+            double dy = y[i] - cy;
+            double distanceSq = dx * dx + dy * dy;
+            if (i == exceptSlot || flags[i] != EnemyStore.ALIVE || distanceSq > radius * radius) {
+                continue;
+            }
+            double before = expectedShield[i];
+            expectedShield[i] -= Enemy.calculateNetDamage(damage * band.of(distanceSq), armor[i]);
+            if (expectedShield[i] <= 0) {
+                expectedShield[i] = 0;
+                expectedFlags[i] &= ~EnemyStore.ALIVE;
+            }
+            expectedHits[expectedCount] = i;
+            expectedDamage[expectedCount] = before - expectedShield[i];
+            expectedCount++;
+        }
+        
+        int[] hits = new int[offset + size];
+        double[] hitDamage = new double[offset + size];
+        int count = kernels.splashGround(x, y, shield, armor, flags, size, cx, cy, radius, range, damage,
+                exceptSlot, hits, hitDamage, offset);
+        String game = kernels.getName() + " round " + round;
+        assertEquals(expectedCount, count, game);
+        for (int k = 0; k < count; k++) {
+            assertEquals(expectedHits[k], hits[offset + k], game);
+            assertEquals(expectedDamage[k], hitDamage[offset + k], game); // exact: same operations
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(expectedShield[i], shield[i], game + " slot " + i);
+            assertEquals(expectedFlags[i], flags[i], game + " slot " + i);
+        }
+        return count;
+    }
+}
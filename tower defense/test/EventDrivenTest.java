@@ -0,0 +1,226 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Event Driven Test - event-driven headless games against fixed-step ones.
+ * Events land at their own time instead of on the next tick, so single
+ * games differ; over many seeds the estimates must agree within a few
+ * percent. The interactive loop's idle-tick batches (getIdleTicks and
+ * skipTicks) must instead give exactly the tick-by-tick game. Also
+ * CoverageUnion against asking every tower's coverage.
+ */
+class EventDrivenTest {
+    private static final int GAMES = 300;
+    
+    @Test
+    void estimatesMatchFixedStep() {
+        String[] layouts = {
+            TowerLayout.DEFAULT_LAYOUT,
+            "archer:280,200;cannon:280,330;ice:440,250;archer:600,250",
+            "archer:200,150;archer:250,150;cannon:300,200;ice:350,200;cannon:400,250;ice:450,300;archer:500,350"
+        };
+        for (String layout : layouts) {
+            MonteCarloEstimator.Stats fixed = new MonteCarloEstimator.Stats();
+            MonteCarloEstimator.Stats events = new MonteCarloEstimator.Stats();
+            long ticks = 0;
+            long updates = 0;
+            for (long seed = 1; seed <= GAMES; seed++) {
+                fixed.add(play(layout, seed, false));
+                HeadlessSimulation.Result result = play(layout, seed, true);
+                events.add(result);
+                ticks += result.ticks;
+                updates += result.updates;
+            }
+            assertEquals(fixed.getWinRate(), events.getWinRate(), 0.05, layout + " win rate");
+            assertEquals(fixed.getMeanShield(), events.getMeanShield(), tolerance(fixed.getMeanShield()), layout + " kale");
+            assertEquals(fixed.getMeanGold(), events.getMeanGold(), tolerance(fixed.getMeanGold()), layout + " altın");
+            assertEquals(fixed.getMeanBreaches(), events.getMeanBreaches(), tolerance(fixed.getMeanBreaches()),
+                    layout + " breaches");
+            assertTrue(updates * 5 < ticks, layout + ": " + updates + " updates for " + ticks + " ticks");
+        }
+    }
+    
+    // 3% of the fixed-step mean, at least 0.5 for means near 0
+    private static double tolerance(double mean) {
+        return Math.max(0.5, Math.abs(mean) * 0.03);
+    }
+    
+    private static HeadlessSimulation.Result play(String layout, long seed, boolean eventDriven) {
+        GameEngine engine = HeadlessSimulation.createEngine();
+        engine.setSeed(seed);
+        HeadlessSimulation simulation = new HeadlessSimulation(engine, TowerLayout.parse(layout));
+        simulation.setEventDriven(eventDriven);
+        HeadlessSimulation.Result result = simulation.run();
+        engine.close();
+        return result;
+    }
+    
+    /**
+     * SimulationLoop's merged ticks: skipping getIdleTicks and then ticking
+     * must leave exactly the state of ticking all the way. Every tower's
+     * cooldown is a whole number of ticks, so cooldowns run out right on
+     * the horizon getIdleTicks looks at.
+     */
+    @Test
+    void idleTickBatchesPlayTheTickByTickGame() {
+        for (long seed = 1; seed <= 40; seed++) {
+            String layout = seed % 4 == 0 ? TowerLayout.DEFAULT_LAYOUT : randomLayout(new Random(seed), 12);
+            {
+                Map<Long, String> ticked = new HashMap<>();
+                playTicks(layout, seed, false, ticked);
+                Map<Long, String> batched = new HashMap<>();
+                long skipped = playTicks(layout, seed, true, batched);
+                assertTrue(skipped > 0, "nothing was skipped");
+                for (Map.Entry<Long, String> state : batched.entrySet()) {
+                    assertEquals(ticked.get(state.getKey()), state.getValue(),
+                            layout + " seed " + seed + " tick " + state.getKey());
+                }
+            }
+        }
+    }
+    
+    /**
+     * The case random games rarely line up: an event exactly two ticks on
+     * (a slow whose timer wheel deadline is two ticks away) while an enemy
+     * further down the list walks into a ready archer's range on the very
+     * next tick.
+     */
+    @Test
+    void eventOnTheIdleHorizonDoesNotHideAnEnemy() {
+        String ticked = playEdge(false);
+        assertEquals(ticked, playEdge(true));
+        assertTrue(ticked.contains("shots=1"), ticked);
+    }
+    
+    // The state two ticks on: the archer shot on the first
+    private static String playEdge(boolean batch) {
+        GameEngine engine = new GameEngine(false);
+        engine.setSnapshotPublishing(false);
+        engine.setWaves(Arrays.asList(new WaveDefinition().interval(2, 0.1, WaveDefinition.mix(1, 0, 0))));
+        engine.initializeGame();
+        engine.startNextWave();
+        while (engine.getGameTime() < 1.0) { // both enemies out, towers placed now are ready
+            engine.update(GameEngine.DELTA_TIME);
+        }
+        Tower archer = new TowerLayout.Placement("archer", 400.0, 100.0).createTower();
+        engine.placeTower(archer);
+        List<Enemy> enemies = engine.getEnemies();
+        // First in the list: back at the start, slowed until two ticks from now
+        enemies.get(0).setPathIndex(0.0);
+        enemies.get(0).applySlowEffect(2 * GameEngine.DELTA_TIME);
+        assertEquals(2 * GameEngine.DELTA_TIME, enemies.get(0).getSlowEffectTimer());
+        // Second: half a step short of the archer's range
+        Enemy enemy = enemies.get(1);
+        double step = enemy.getVelocity() * 2.0 / 50.0 * GameEngine.DELTA_TIME;
+        enemy.setPathIndex(archer.getCoverage()[0] - step / 2);
+        
+        double end = engine.getGameTime() + 1.5 * GameEngine.DELTA_TIME;
+        if (batch) {
+            engine.skipTicks(engine.getIdleTicks());
+        }
+        while (engine.getGameTime() < end) {
+            engine.update(GameEngine.DELTA_TIME);
+        }
+        String result = state(engine) + " archer ready at " + archer.getReadyTime();
+        engine.close();
+        return result;
+    }
+    
+    // Towers anywhere on the map, so most of them wait for enemies
+    private static String randomLayout(Random random, int towers) {
+        StringBuilder layout = new StringBuilder();
+        String[] kinds = {"archer", "cannon", "ice"};
+        for (int i = 0; i < towers; i++) {
+            layout.append(i == 0 ? "" : ";").append(kinds[random.nextInt(3)]).append(':')
+                    .append(random.nextInt(800)).append(',').append(random.nextInt(600));
+        }
+        return layout.toString();
+    }
+    
+    // Records the state after every step by tick; returns the ticks skipped
+    private static long playTicks(String layout, long seed, boolean batch, Map<Long, String> states) {
+        GameEngine engine = HeadlessSimulation.createEngine();
+        engine.setSeed(seed);
+        engine.initializeGame();
+        TowerLayout.parse(layout).placeOn(engine);
+        engine.startNextWave();
+        long tick = 0;
+        long skipped = 0;
+        while (engine.isGameRunning() && tick < 20_000) {
+            if (batch) {
+                int idle = engine.getIdleTicks();
+                if (idle > 0) {
+                    engine.skipTicks(idle);
+                    tick += idle;
+                    skipped += idle;
+                    states.put(tick, state(engine));
+                }
+            }
+            engine.update(GameEngine.DELTA_TIME);
+            engine.startNextWaveIfCleared();
+            tick++;
+            states.put(tick, state(engine));
+        }
+        engine.close();
+        return skipped;
+    }
+    
+    private static String state(GameEngine engine) {
+        StringBuilder state = new StringBuilder();
+        state.append(engine.getGameTime()).append(" kale=").append(engine.getPlayerShieldIntegrity())
+                .append(" altın=").append(engine.getEnergyCore()).append(" shots=").append(engine.getShotCount());
+        for (Enemy enemy : engine.getEnemies()) {
+            state.append(' ').append(enemy.getPathIndex()).append('/').append(enemy.getShieldIntegrity());
+        }
+        return state.toString();
+    }
+    
+    @Test
+    void coverageUnionMatchesEveryTower() {
+        Path path = new Path();
+        Random random = new Random(11);
+        CoverageUnion union = new CoverageUnion();
+        for (int round = 0; round < 200; round++) {
+            int towers = random.nextInt(12);
+            double[][] coverages = new double[towers][];
+            union.clear();
+            for (int t = 0; t < towers; t++) {
+                coverages[t] = path.coverage(random.nextDouble() * 800, random.nextDouble() * 600,
+                        random.nextDouble() * 250);
+                union.add(coverages[t]);
+            }
+            union.build();
+            for (int q = 0; q < 50; q++) {
+                double pathIndex = random.nextDouble() * (path.getLength() + 1) - 0.5;
+                double rate = random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * 3;
+                double expected = Double.POSITIVE_INFINITY;
+                for (double[] coverage : coverages) {
+                    expected = Math.min(expected, timeUntilCovered(coverage, pathIndex, rate));
+                }
+                assertEquals(expected, union.timeUntilCovered(pathIndex, rate), 1e-12,
+                        "round " + round + " at " + pathIndex);
+            }
+        }
+    }
+    
+    // One tower: the first interval the enemy is in or walks into
+    private static double timeUntilCovered(double[] coverage, double pathIndex, double rate) {
+        for (int k = 0; k < coverage.length; k += 2) {
+            if (pathIndex <= coverage[k + 1]) {
+                if (pathIndex >= coverage[k]) {
+                    return 0.0;
+                }
+                return rate > 0 ? (coverage[k] - pathIndex) / rate : Double.POSITIVE_INFINITY;
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
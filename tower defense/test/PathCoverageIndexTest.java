@@ -0,0 +1,167 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Path Coverage Index Test - PathCoverageIndex targets against
+ * Tower.findTarget's linear scan (no coverage index, no spatial grid), for
+ * towers anywhere on the map with any range, ground-only and not. Enemies
+ * tie on pathIndex, stand past both ends of the path, die, spawn and
+ * overtake slowed enemies between rebuilds.
+ */
+class PathCoverageIndexTest {
+    private static final double DT = GameEngine.DELTA_TIME;
+    
+    /**
+     * A tower that only targets: any position and range.
+     */
+    private static final class Probe extends Tower {
+        Probe(double x, double y, double range) {
+            super(x, y, range, 0.0, 1.0, 0);
+        }
+        
+        Enemy scan(List<Enemy> enemies, boolean targetFlying, PathCoverageIndex index) {
+            setCoverageIndex(index);
+            return findTarget(enemies, targetFlying);
+        }
+        
+        @Override
+        public int aim(List<Enemy> enemies, double currentTime, ShotPlan plan) { return 0; }
+        
+        @Override
+        public int fire(EnemyStore store, double currentTime) { return 0; }
+        
+        @Override
+        public String getTowerType() { return "Probe"; }
+    }
+    
+    private final Path path = new Path();
+    private final PathCoverageIndex index = new PathCoverageIndex(path);
+    private final List<Enemy> enemies = new ArrayList<>();
+    private final List<Probe> probes = new ArrayList<>();
+    
+    private void spawn(Enemy enemy, double pathIndex) {
+        place(enemy, pathIndex);
+        enemies.add(enemy);
+        index.add(enemy);
+    }
+    
+    private void place(Enemy enemy, double pathIndex) {
+        enemy.setPathIndex(pathIndex);
+        enemy.setPosition(path.getX(pathIndex), path.getY(pathIndex));
+    }
+    
+    private void addProbes(Random random, int count) {
+        // Both path ends, where coverage is open-ended, then anywhere
+        probes.add(new Probe(path.getWaypoint(0).x, path.getWaypoint(0).y, 60.0));
+        probes.add(new Probe(path.getBase().x - 30.0, path.getBase().y, 80.0));
+        probes.add(new Probe(400.0, 250.0, 2000.0)); // the whole path
+        for (int i = probes.size(); i < count; i++) {
+            probes.add(new Probe(random.nextDouble() * 760.0, random.nextDouble() * 440.0,
+                    20.0 + random.nextDouble() * 230.0));
+        }
+    }
+    
+    private int checkAllProbes() {
+        int found = 0;
+        for (Probe probe : probes) {
+            for (boolean targetFlying : new boolean[] {true, false}) {
+                Enemy expected = probe.scan(enemies, targetFlying, null);
+                Enemy actual = probe.scan(enemies, targetFlying, index);
+                assertSame(expected, actual, () -> "tower at " + probe.getX() + "," + probe.getY()
+                        + " range " + probe.getTargetingRange() + " flying " + targetFlying);
+                if (expected != null) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+    
+    @Test
+    void tiesGoToTheEnemySpawnedFirst() {
+        Random random = new Random(3);
+        addProbes(random, 40);
+        double last = path.getLength() - 1.0;
+        double[] spots = {0.0, 0.5, 1.25, 2.0, 3.75, last - 0.5, last, last + 0.3};
+        for (int i = 0; i < 200; i++) {
+            double spot = spots[random.nextInt(spots.length)];
+            spawn(random.nextInt(3) == 0 ? new FlyingEnemy() : new StandardEnemy(), spot);
+        }
+        index.rebuild();
+        assertTrue(checkAllProbes() > 0);
+    }
+    
+    @Test
+    void movingWavesMatchTheLinearScan() {
+        for (long seed = 1; seed <= 4; seed++) {
+            enemies.clear();
+            probes.clear();
+            index.clear();
+            Random random = new Random(seed);
+            addProbes(random, 40);
+            double end = path.getLength() - 1.0 + 0.5; // walk a little past the base
+            int found = 0;
+            int overtakes = 0;
+            for (int tick = 0; tick < 2000; tick++) {
+                if (random.nextInt(6) == 0) {
+                    // Groups spawn on the same spot and tie until one is slowed
+                    int group = 1 + random.nextInt(3);
+                    for (int i = 0; i < group; i++) {
+                        spawn(random.nextInt(4) == 0 ? new FlyingEnemy() : new StandardEnemy(), 0.0);
+                    }
+                }
+                for (int i = 0; i < enemies.size(); i++) {
+                    Enemy enemy = enemies.get(i);
+                    if (random.nextInt(400) == 0) {
+                        enemy.applySlowEffect(2.0);
+                    }
+                    enemy.updateSlowEffect(DT);
+                    place(enemy, Math.min(end, enemy.getPathIndex() + enemy.getVelocity() * 2.0 / 50.0 * DT));
+                    // Killed, or breached after standing past the base a while; the
+                    // index drops it on the next rebuild, like GameEngine
+                    if (random.nextInt(300) == 0 || (enemy.getPathIndex() >= end && random.nextInt(20) == 0)) {
+                        enemy.setAlive(false);
+                    }
+                }
+                overtakes += countOvertakes();
+                if (random.nextInt(3) == 0) {
+                    enemies.removeIf(enemy -> !enemy.isAlive());
+                }
+                index.rebuild(); // every tick, as GameEngine does
+                if (tick % 2 == 0) {
+                    found += checkAllProbes();
+                }
+            }
+            assertTrue(found > 0 && overtakes > 0, "the waves never met a tower or never overtook");
+        }
+    }
+    
+    @Test
+    void coverageIsOpenAtThePathEnds() {
+        double[] start = path.coverage(path.getWaypoint(0).x, path.getWaypoint(0).y, 30.0);
+        assertEquals(Double.NEGATIVE_INFINITY, start[0]);
+        double[] base = path.coverage(path.getBase().x, path.getBase().y, 30.0);
+        assertEquals(Double.POSITIVE_INFINITY, base[base.length - 1]);
+        double[] all = path.coverage(400.0, 250.0, 2000.0);
+        assertEquals(2, all.length);
+        assertEquals(0, path.coverage(400.0, 250.0, 0.0).length % 2);
+    }
+    
+    // Enemies behind a slower one in list order that now stand further along
+    private int countOvertakes() {
+        int overtakes = 0;
+        for (int i = 1; i < enemies.size(); i++) {
+            if (enemies.get(i).getPathIndex() > enemies.get(i - 1).getPathIndex()) {
+                overtakes++;
+            }
+        }
+        return overtakes;
+    }
+}
@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replay Player Test - replays cut off at any byte, as a killed recorder
+ * leaves them: they load with the commands written out whole and without
+ * an end state.
+ */
+class ReplayPlayerTest {
+    private static final int COMMANDS = 5;
+    
+    @Test
+    void replayCutOffInsideARecordDropsIt() throws IOException {
+        byte[] replay = record(COMMANDS);
+        int[] ends = new int[COMMANDS]; // replay length after each command
+        for (int i = 0; i < COMMANDS; i++) {
+            ends[i] = record(i + 1).length;
+        }
+        
+        int header = record(0).length;
+        for (int length = header; length <= replay.length; length++) {
+            ReplayPlayer player = new ReplayPlayer(new ByteArrayInputStream(Arrays.copyOf(replay, length)));
+            int whole = 0;
+            while (whole < COMMANDS && ends[whole] <= length) {
+                whole++;
+            }
+            assertEquals(whole, player.getCommandCount(), "cut at " + length);
+            assertEquals(length == replay.length, player.hasEndState(), "cut at " + length);
+        }
+    }
+    
+    // The first commands of a short session, closed after them
+    private static byte[] record(int commands) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(bytes);
+        if (commands > 0) {
+            recorder.newGame(0, 42L, true, false);
+        }
+        if (commands > 1) {
+            recorder.placeTower(3, new ArcherTower(250.0, 150.0));
+        }
+        if (commands > 2) {
+            recorder.startWave(7);
+        }
+        if (commands > 3) {
+            recorder.placeTower(200, new CannonTower(300.0, 200.0));
+        }
+        if (commands > 4) {
+            recorder.finish(500, 80, 120, 1, 3);
+        } else {
+            recorder.close();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Simulation Loop Test - commands submitted from other threads while the
+ * loop stops: every one runs exactly once, and none runs on the caller
+ * while the simulation thread may still be ticking the engine.
+ */
+class SimulationLoopTest {
+    @Test
+    void commandsSubmittedDuringStopRunOnceAndNeverBesideATick() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            GameEngine engine = HeadlessSimulation.createEngine();
+            engine.initializeGame();
+            TowerLayout.parse(TowerLayout.DEFAULT_LAYOUT).placeOn(engine);
+            engine.startNextWave();
+            SimulationLoop loop = new SimulationLoop(engine);
+            loop.setTimeScale(SimulationLoop.MAX_TIME_SCALE);
+            
+            AtomicReference<Thread> simulation = new AtomicReference<>();
+            AtomicInteger submitted = new AtomicInteger();
+            AtomicInteger ran = new AtomicInteger();
+            AtomicInteger besideATick = new AtomicInteger();
+            Runnable command = () -> {
+                Thread current = Thread.currentThread();
+                if (current.getName().equals("simulation")) {
+                    simulation.set(current);
+                } else if (simulation.get() != null && simulation.get().isAlive()) {
+                    besideATick.incrementAndGet();
+                }
+                ran.incrementAndGet();
+            };
+            
+            loop.start();
+            List<Thread> submitters = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Thread submitter = new Thread(() -> {
+                    for (int n = 0; n < 2000; n++) {
+                        submitted.incrementAndGet();
+                        loop.submit(command);
+                    }
+                });
+                submitters.add(submitter);
+                submitter.start();
+            }
+            Thread.sleep(round % 4);
+            loop.stop();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+            engine.close();
+            
+            assertEquals(submitted.get(), ran.get(), "round " + round + ": commands lost");
+            assertEquals(0, besideATick.get(), "round " + round + ": commands ran beside the simulation thread");
+            assertTrue(!loop.isRunning());
+        }
+    }
+}
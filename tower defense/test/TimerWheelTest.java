@@ -0,0 +1,230 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Timer Wheel Test - TimerWheel against a sorted list of deadlines, with
+ * deadlines on both sides of every level boundary and past SPAN, slows
+ * refreshed before their expiry, and GameEngine's tower wake-ups against
+ * polling every tower every tick.
+ */
+class TimerWheelTest {
+    private static final long LEVEL1 = 1L << 6;   // first tick past level 0
+    private static final long LEVEL2 = 1L << 12;  // first tick past level 1
+    private static final long SPAN = 1L << 18;    // first tick in the overflow list
+    
+    /**
+     * Reference: the pending timers as "deadline << 24 | id", sorted. Every
+     * expiry must be the timer's own deadline, and none may be overdue.
+     */
+    private static final class Reference implements TimerWheel.Handler {
+        private final TimerWheel wheel;
+        private final List<Long> pending = new ArrayList<>();
+        private final List<Long> deadlines = new ArrayList<>(); // by id
+        private final Random rearm; // null = expiries do not schedule
+        private int fired;
+        
+        Reference(TimerWheel wheel, Random rearm) {
+            this.wheel = wheel;
+            this.rearm = rearm;
+        }
+        
+        void schedule(long deadline) {
+            int id = deadlines.size();
+            long expected = Math.max(deadline, wheel.getNow() + 1);
+            assertEquals(expected, wheel.schedule(deadline, TimerWheel.TOWER_READY, null, id));
+            deadlines.add(expected);
+            long key = expected << 24 | id;
+            int at = Collections.binarySearch(pending, key);
+            pending.add(-at - 1, key);
+        }
+        
+        void advanceTo(long tick) {
+            wheel.advanceTo(tick, this);
+            assertEquals(tick, wheel.getNow());
+            assertTrue(pending.isEmpty() || pending.get(0) >> 24 > tick, "timer left behind at " + tick);
+            assertEquals(pending.size(), wheel.size());
+        }
+        
+        @Override
+        public void expire(int kind, Object target, int data) {
+            long now = wheel.getNow();
+            assertEquals(deadlines.get(data).longValue(), now, "timer " + data);
+            assertTrue(pending.remove(Long.valueOf(now << 24 | data)), "timer " + data + " fired twice");
+            assertTrue(pending.isEmpty() || pending.get(0) >> 24 >= now, "overdue timer at " + now);
+            fired++;
+            if (rearm != null && rearm.nextInt(4) == 0) {
+                schedule(now + randomDelta(rearm)); // like a tower that fired and sleeps again
+            }
+        }
+    }
+    
+    private static long randomDelta(Random random) {
+        switch (random.nextInt(10)) {
+            case 0: case 1: case 2: case 3:
+                return 1 + random.nextInt(70);
+            case 4: case 5: {
+                long[] boundaries = {LEVEL1, LEVEL2, SPAN};
+                return boundaries[random.nextInt(3)] + random.nextInt(7) - 3;
+            }
+            case 6: case 7:
+                return 1 + (long) (random.nextDouble() * SPAN);
+            case 8:
+                return SPAN + (long) (random.nextDouble() * 3 * SPAN);
+            default:
+                return -random.nextInt(5); // already due: clamped to the next tick
+        }
+    }
+    
+    @Test
+    void randomDeadlinesExpireOnTheirTick() {
+        for (long seed = 1; seed <= 4; seed++) {
+            Random random = new Random(seed);
+            TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+            Reference reference = new Reference(wheel, random);
+            reference.advanceTo(random.nextInt((int) LEVEL2)); // start off any boundary
+            
+            long end = wheel.getNow() + 4 * SPAN;
+            while (wheel.getNow() < end) {
+                int burst = random.nextInt(8);
+                for (int i = 0; i < burst; i++) {
+                    reference.schedule(wheel.getNow() + randomDelta(random));
+                }
+                long step = random.nextInt(20) == 0 ? (long) (random.nextDouble() * SPAN) : 1 + random.nextInt(100);
+                reference.advanceTo(Math.min(end, wheel.getNow() + step));
+            }
+            reference.advanceTo(end + 5 * SPAN); // drain everything
+            assertEquals(0, wheel.size());
+            assertEquals(reference.deadlines.size(), reference.fired);
+        }
+    }
+    
+    @Test
+    void deadlinesAroundLevelBoundaries() {
+        long[] starts = {0, 1, LEVEL1 - 1, LEVEL1, LEVEL2 - 1, LEVEL2, LEVEL2 + 1, SPAN - 1, SPAN, SPAN + 7};
+        long[] deltas = {1, LEVEL1 - 2, LEVEL1 - 1, LEVEL1, LEVEL1 + 1, 2 * LEVEL1 - 1, 2 * LEVEL1,
+                LEVEL2 - 1, LEVEL2, LEVEL2 + 1, 2 * LEVEL2 - 1, 2 * LEVEL2,
+                SPAN - 1, SPAN, SPAN + 1, 2 * SPAN + 3};
+        for (long start : starts) {
+            TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+            Reference reference = new Reference(wheel, null);
+            reference.advanceTo(start);
+            for (long delta : deltas) {
+                reference.schedule(start + delta);
+            }
+            // One tick at a time across the first boundaries, then in jumps
+            reference.advanceTo(start + 2 * LEVEL2 + 5);
+            for (int i = 1; i <= 12; i++) {
+                reference.advanceTo(start + i * SPAN / 4 + 1);
+            }
+            assertEquals(deltas.length, reference.fired, "from tick " + start);
+        }
+    }
+    
+    @Test
+    void clearDropsTimersAndRestarts() {
+        TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+        Reference reference = new Reference(wheel, null);
+        reference.advanceTo(100);
+        reference.schedule(150);
+        reference.schedule(100 + SPAN + 1);
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.getNow());
+        
+        Reference after = new Reference(wheel, null); // pooled nodes are reused
+        after.schedule(60);
+        after.advanceTo(2 * SPAN);
+        assertEquals(1, after.fired);
+    }
+    
+    @Test
+    void scheduleAfterRoundsToWholeTicks() {
+        TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+        wheel.advanceTo(10, (kind, target, data) -> { });
+        assertEquals(10 + 60, wheel.scheduleAfter(1.0, TimerWheel.TOWER_READY, null, 0));
+        assertEquals(10 + 90, wheel.scheduleAfter(1.5, TimerWheel.TOWER_READY, null, 0));
+        assertEquals(11, wheel.scheduleAfter(0.0, TimerWheel.TOWER_READY, null, 0));
+        assertEquals(60, wheel.tickOf(60 * GameEngine.DELTA_TIME));
+    }
+    
+    @Test
+    void refreshedSlowIgnoresTheOlderExpiry() {
+        TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+        TimerWheel.Handler handler = (kind, target, generation) -> ((Enemy) target).expireSlowEffect(generation);
+        Enemy enemy = new StandardEnemy();
+        enemy.setStatusTimers(wheel);
+        double speed = enemy.getOriginalVelocity();
+        
+        enemy.applySlowEffect(1.0); // expires at tick 60
+        wheel.advanceTo(30, handler);
+        enemy.applySlowEffect(1.0); // refreshed: now tick 90
+        wheel.advanceTo(60, handler);
+        assertTrue(enemy.hasSlowEffect(), "stale expiry ended the refreshed slow");
+        assertEquals(speed * 0.5, enemy.getVelocity());
+        assertEquals(0.5, enemy.getSlowEffectTimer(), 1e-9);
+        wheel.advanceTo(89, handler);
+        assertTrue(enemy.hasSlowEffect());
+        wheel.advanceTo(90, handler);
+        assertFalse(enemy.hasSlowEffect());
+        assertEquals(speed, enemy.getVelocity());
+    }
+    
+    @Test
+    void randomSlowRefreshesEndOnTheLastDeadline() {
+        Random random = new Random(17);
+        TimerWheel wheel = new TimerWheel(GameEngine.DELTA_TIME);
+        TimerWheel.Handler handler = (kind, target, generation) -> ((Enemy) target).expireSlowEffect(generation);
+        Enemy enemy = new StandardEnemy();
+        enemy.setStatusTimers(wheel);
+        long lastDeadline = -1;
+        for (int tick = 1; tick <= 20000; tick++) {
+            wheel.advanceTo(tick, handler);
+            boolean slowed = tick < lastDeadline;
+            assertEquals(slowed, enemy.hasSlowEffect(), "tick " + tick);
+            assertEquals(slowed ? enemy.getOriginalVelocity() * 0.5 : enemy.getOriginalVelocity(),
+                    enemy.getVelocity(), "tick " + tick);
+            if (random.nextInt(40) == 0) {
+                // Longer or shorter than what is left: only the newest slow counts
+                double seconds = (1 + random.nextInt(300)) * GameEngine.DELTA_TIME;
+                enemy.applySlowEffect(seconds);
+                lastDeadline = tick + Math.round(seconds / GameEngine.DELTA_TIME);
+            }
+        }
+    }
+    
+    @Test
+    void towerWakeUpsMatchPollingEveryTower() {
+        String[] layouts = {
+            TowerLayout.DEFAULT_LAYOUT,
+            "archer:200,150;archer:250,150;cannon:300,200;ice:350,200;cannon:400,250;ice:450,300;archer:500,350"
+        };
+        for (String layout : layouts) {
+            for (long seed = 1; seed <= 12; seed++) {
+                for (boolean store : new boolean[] {false, true}) {
+                    String game = layout + " seed " + seed + (store ? " store" : "");
+                    assertEquals(play(layout, seed, store, true), play(layout, seed, store, false), game);
+                }
+            }
+        }
+    }
+    
+    private static String play(String layout, long seed, boolean store, boolean poll) {
+        GameEngine engine = HeadlessSimulation.createEngine();
+        engine.setEnemyStoreEnabled(store);
+        engine.setPollTowers(poll);
+        engine.setSeed(seed);
+        HeadlessSimulation.Result result = new HeadlessSimulation(engine, TowerLayout.parse(layout)).run();
+        engine.close();
+        return result.outcome + " ticks=" + result.ticks + " time=" + result.gameTime
+                + " kale=" + result.shieldIntegrity + " altın=" + result.energyCore + " dalga=" + result.wave
+                + " breaches=" + result.breaches + " shots=" + engine.getShotCount() + " kills=" + engine.getKillCount();
+    }
+}
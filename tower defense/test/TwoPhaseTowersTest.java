@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Two Phase Towers Test - the two-phase tower update, aiming on one thread
+ * and on the common pool, against the one-by-one loop, with enough towers
+ * crowded around the path that they kill each other's targets every tick.
+ */
+class TwoPhaseTowersTest {
+    private static final String[] KINDS = {"archer", "cannon", "ice"};
+    
+    @Test
+    void crowdedTowersPlayTheOneByOneGame() {
+        for (long seed = 1; seed <= 6; seed++) {
+            int towers = 60 + 10 * (int) seed;
+            String oneByOne = play(seed, towers, false, Integer.MAX_VALUE);
+            assertEquals(oneByOne, play(seed, towers, true, Integer.MAX_VALUE), "serial aiming, seed " + seed);
+            assertEquals(oneByOne, play(seed, towers, true, 1), "parallel aiming, seed " + seed);
+        }
+    }
+    
+    @Test
+    void defaultLayoutPlaysTheOneByOneGame() {
+        for (long seed = 1; seed <= 8; seed++) {
+            assertEquals(playLayout(seed, false), playLayout(seed, true), "seed " + seed);
+        }
+    }
+    
+    /**
+     * A long wave of every enemy type through towers placed at random, with
+     * the shield and path position of every enemy summed up along the way.
+     */
+    private static String play(long seed, int towers, boolean twoPhase, int parallelAimThreshold) {
+        GameEngine engine = new GameEngine(false);
+        engine.setSnapshotPublishing(false);
+        engine.setTwoPhaseTowers(twoPhase);
+        engine.setParallelAimThreshold(parallelAimThreshold);
+        engine.setSeed(seed);
+        engine.setWaves(Arrays.asList(new WaveDefinition().interval(600, 0.05, WaveDefinition.mix(1, 1, 1))));
+        engine.initializeGame();
+        engine.setEnergyCore(100_000_000);
+        Random random = new Random(seed);
+        for (int i = 0; i < towers; i++) {
+            engine.placeTower(new TowerLayout.Placement(KINDS[i % 3],
+                    random.nextDouble() * 800, random.nextDouble() * 600).createTower());
+        }
+        engine.startNextWave();
+        
+        StringBuilder trace = new StringBuilder();
+        for (int tick = 0; tick < 1200 && engine.isGameRunning(); tick++) {
+            engine.update(GameEngine.DELTA_TIME);
+            if (tick % 20 == 0) {
+                double sum = 0.0;
+                for (Enemy enemy : engine.getEnemies()) {
+                    sum = sum * 31 + enemy.getShieldIntegrity() + enemy.getPathIndex();
+                }
+                trace.append(Double.doubleToLongBits(sum)).append(',');
+            }
+        }
+        assertTrue(engine.getKillCount() > 50, "the towers hardly fought");
+        String result = trace + " kale=" + engine.getPlayerShieldIntegrity() + " altın=" + engine.getEnergyCore()
+                + " shots=" + engine.getShotCount() + " kills=" + engine.getKillCount();
+        engine.close();
+        return result;
+    }
+    
+    private static String playLayout(long seed, boolean twoPhase) {
+        GameEngine engine = HeadlessSimulation.createEngine();
+        engine.setTwoPhaseTowers(twoPhase);
+        engine.setSeed(seed);
+        HeadlessSimulation.Result result =
+                new HeadlessSimulation(engine, TowerLayout.parse(TowerLayout.DEFAULT_LAYOUT)).run();
+        engine.close();
+        return result.outcome + " ticks=" + result.ticks + " kale=" + result.shieldIntegrity
+                + " altın=" + result.energyCore + " breaches=" + result.breaches
+                + " shots=" + engine.getShotCount() + " kills=" + engine.getKillCount();
+    }
+}